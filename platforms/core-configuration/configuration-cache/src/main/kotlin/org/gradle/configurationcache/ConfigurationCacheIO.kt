@@ -69,7 +69,7 @@ class ConfigurationCacheIO internal constructor(
     val codecs = codecs()
 
     private
-    val encryptionService by lazy { service<EncryptionService>() }
+    val streams by lazy { service<ConfigurationCacheStreams>() }
 
     internal
     fun writeCacheEntryDetailsTo(
@@ -170,7 +170,7 @@ class ConfigurationCacheIO internal constructor(
         stateFile: ConfigurationCacheStateFile,
         action: suspend DefaultReadContext.(ConfigurationCacheState) -> T
     ): T {
-        return withReadContextFor(encryptionService.inputStream(stateFile.stateType, stateFile::inputStream)) { codecs ->
+        return withReadContextFor(streams.inputStream(stateFile.stateType, stateFile::inputStream)) { codecs ->
             ConfigurationCacheState(codecs, stateFile, eventEmitter, host).run {
                 action(this)
             }
@@ -182,7 +182,7 @@ class ConfigurationCacheIO internal constructor(
         stateFile: ConfigurationCacheStateFile,
         action: suspend DefaultWriteContext.(ConfigurationCacheState) -> T
     ): T {
-        val (context, codecs) = writerContextFor(encryptionService.outputStream(stateFile.stateType, stateFile::outputStream)) {
+        val (context, codecs) = writerContextFor(streams.outputStream(stateFile.stateType, stateFile::outputStream)) {
             host.currentBuild.gradle.owner.displayName.displayName + " state"
         }
         return context.useToRun {
@@ -55,6 +55,12 @@ class ConfigurationCacheRepository(
     private val fileAccessTimeJournal: FileAccessTimeJournal,
     private val fileSystem: FileSystem
 ) : Stoppable {
+    /**
+     * Entries are only stored locally.
+     *
+     * They cannot be loaded from the build cache because the build cache is configured by the settings script,
+     * which is not evaluated at all when an entry is reused, and entries contain absolute paths, so they are not relocatable.
+     */
     fun forKey(cacheKey: String): ConfigurationCacheStateStore {
         return StoreImpl(cache.baseDirFor(cacheKey))
     }
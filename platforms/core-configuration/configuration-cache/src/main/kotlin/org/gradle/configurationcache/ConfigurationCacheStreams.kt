@@ -0,0 +1,88 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.configurationcache
+
+import org.gradle.configurationcache.initialization.ConfigurationCacheStartParameter
+import org.gradle.internal.service.scopes.Scopes
+import org.gradle.internal.service.scopes.ServiceScope
+import java.io.InputStream
+import java.io.OutputStream
+import java.util.zip.Deflater
+import java.util.zip.DeflaterOutputStream
+import java.util.zip.Inflater
+import java.util.zip.InflaterInputStream
+
+
+/**
+ * Opens the streams used to store and load configuration cache state files.
+ *
+ * Content is compressed before being encrypted, and decrypted before being decompressed,
+ * as encrypted content doesn't compress.
+ */
+@ServiceScope(Scopes.BuildTree::class)
+internal
+class ConfigurationCacheStreams(
+    private val startParameter: ConfigurationCacheStartParameter,
+    private val encryptionService: EncryptionService
+) {
+
+    fun outputStream(stateType: StateType, output: () -> OutputStream): OutputStream =
+        encryptionService.outputStream(stateType, output).let { outputStream ->
+            if (startParameter.isCompressing) compressingOutputStream(outputStream)
+            else outputStream
+        }
+
+    fun inputStream(stateType: StateType, input: () -> InputStream): InputStream =
+        encryptionService.inputStream(stateType, input).let { inputStream ->
+            if (startParameter.isCompressing) decompressingInputStream(inputStream)
+            else inputStream
+        }
+
+    private
+    fun compressingOutputStream(outputStream: OutputStream): OutputStream {
+        // Favour speed over ratio, most of the redundancy is already removed by string and class sharing
+        val deflater = Deflater(Deflater.BEST_SPEED)
+        return object : DeflaterOutputStream(outputStream, deflater, BUFFER_SIZE) {
+            override fun close() {
+                try {
+                    super.close()
+                } finally {
+                    deflater.end()
+                }
+            }
+        }
+    }
+
+    private
+    fun decompressingInputStream(inputStream: InputStream): InputStream {
+        val inflater = Inflater()
+        return object : InflaterInputStream(inputStream, inflater, BUFFER_SIZE) {
+            override fun close() {
+                try {
+                    super.close()
+                } finally {
+                    inflater.end()
+                }
+            }
+        }
+    }
+
+    private
+    companion object {
+        const val BUFFER_SIZE = 64 * 1024
+    }
+}
@@ -52,6 +52,11 @@ class ConfigurationCacheStartParameter(
 
     val encryptionAlgorithm: String = options.getInternalString("org.gradle.configuration-cache.internal.encryption-alg", SupportedEncryptionAlgorithm.AES_ECB_PADDING.transformation)
 
+    /**
+     * Whether state files should be compressed, see [org.gradle.configurationcache.ConfigurationCacheStreams].
+     */
+    val isCompressing: Boolean = options.getInternalFlag("org.gradle.configuration-cache.internal.compression", true)
+
     /**
      * Should be provided if a link to the report is expected even if no errors were found.
      * Useful in testing.
@@ -69,6 +69,9 @@ class DefaultWriteContext(
     private
     val scopes = WriteIdentities()
 
+    private
+    val strings = WriteStrings()
+
     /**
      * Closes the given [encoder] if it is [AutoCloseable].
      */
@@ -146,9 +149,33 @@ class DefaultWriteContext(
         }
     }
 
-    // TODO: consider interning strings
-    override fun writeString(string: CharSequence) =
-        encoder.writeString(string)
+    /**
+     * Strings are interned across the whole stream, see [StringTags].
+     */
+    override fun writeString(string: CharSequence) {
+        val value = string.toString()
+        if (value.length > StringTags.MAX_SHARED_LENGTH) {
+            writeSmallInt(StringTags.INLINE)
+            encoder.writeString(value)
+            return
+        }
+        val id = strings.getId(value)
+        if (id >= 0) {
+            writeSmallInt(StringTags.FIRST_SHARED + id)
+        } else {
+            val newId = strings.putString(value)
+            writeSmallInt(StringTags.FIRST_SHARED + newId)
+            encoder.writeString(value)
+        }
+    }
+
+    override fun writeNullableString(string: CharSequence?) {
+        if (string == null) {
+            writeSmallInt(StringTags.NULL)
+        } else {
+            writeString(string)
+        }
+    }
 
     override fun newIsolate(owner: IsolateOwner): WriteIsolate =
         DefaultWriteIsolate(owner)
@@ -229,6 +256,9 @@ class DefaultReadContext(
     private
     val scopes = ReadIdentities()
 
+    private
+    val strings = ReadStrings()
+
     private
     lateinit var projectProvider: ProjectProvider
 
@@ -338,6 +368,21 @@ class DefaultReadContext(
         null
     }
 
+    override fun readString(): String =
+        readNullableString() ?: throw IllegalStateException("Unexpected null string.")
+
+    override fun readNullableString(): String? =
+        when (val tag = readSmallInt()) {
+            StringTags.NULL -> null
+            StringTags.INLINE -> decoder.readString()
+            else -> {
+                val id = tag - StringTags.FIRST_SHARED
+                strings.getString(id) ?: decoder.readString().also { newString ->
+                    strings.putString(id, newString)
+                }
+            }
+        }
+
     override fun getProject(path: String): ProjectInternal =
         projectProvider(path)
 
@@ -346,6 +391,24 @@ class DefaultReadContext(
 }
 
 
+/**
+ * Every string written through a [DefaultWriteContext] is prefixed by a small int tag:
+ * - [NULL] for a `null` string;
+ * - [INLINE] for a string that is too long to be worth sharing, the string follows;
+ * - [FIRST_SHARED] + id for a shared string, the string follows only the first time the id is seen.
+ *
+ * Paths, class names and property names are repeated many times in a configuration cache entry,
+ * so sharing them reduces the size of the entry significantly.
+ */
+private
+object StringTags {
+    const val NULL = 0
+    const val INLINE = 1
+    const val FIRST_SHARED = 2
+    const val MAX_SHARED_LENGTH = 1024
+}
+
+
 interface DecodingProvider<T> {
     suspend fun ReadContext.decode(): T?
 }
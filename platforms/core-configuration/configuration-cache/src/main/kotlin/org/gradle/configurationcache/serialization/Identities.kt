@@ -16,6 +16,8 @@
 
 package org.gradle.configurationcache.serialization
 
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap
+import it.unimi.dsi.fastutil.objects.ObjectArrayList
 import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet
 import java.util.IdentityHashMap
 
@@ -48,6 +50,46 @@ class ReadIdentities {
 }
 
 
+/**
+ * Assigns sequential ids to strings by value so that each distinct string is written to the stream only once.
+ */
+class WriteStrings {
+
+    private
+    val stringIds = Object2IntOpenHashMap<String>().apply {
+        defaultReturnValue(-1)
+    }
+
+    /**
+     * Returns the id of the given [string] or `-1` if it hasn't been written yet.
+     */
+    fun getId(string: String): Int = stringIds.getInt(string)
+
+    fun putString(string: String): Int {
+        val id = stringIds.size
+        stringIds.put(string, id)
+        return id
+    }
+}
+
+
+class ReadStrings {
+
+    private
+    val strings = ObjectArrayList<String>()
+
+    fun getString(id: Int): String? =
+        if (id < strings.size) strings[id] else null
+
+    fun putString(id: Int, string: String) {
+        require(id == strings.size) {
+            "Unexpected string id $id, expecting ${strings.size}."
+        }
+        strings.add(string)
+    }
+}
+
+
 class CircularReferences {
 
     private
@@ -45,4 +45,13 @@ class BaseTypeCodecTest : AbstractUserTypeCodecTest() {
             assertThat(hashtable, equalTo(this))
         }
     }
+
+    @Test
+    fun `can handle shared strings`() {
+        val longString = "x".repeat(4096)
+        val strings = listOf("path/to/file", "org.gradle.Foo", "path/to/file", longString, "", longString, "org.gradle.Foo", "")
+        configurationCacheRoundtripOf(strings).run {
+            assertThat(strings, equalTo(this))
+        }
+    }
 }
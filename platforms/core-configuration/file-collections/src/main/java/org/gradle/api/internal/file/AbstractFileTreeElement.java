@@ -96,7 +96,10 @@ private void validateTimeStamps() {
         }
     }
 
-    private void copyFile(File target) throws IOException {
+    /**
+     * Copies the content of this element to the given regular file.
+     */
+    protected void copyFile(File target) throws IOException {
         FileOutputStream outputStream = new FileOutputStream(target);
         try {
             copyTo(outputStream);
@@ -23,7 +23,11 @@
 import org.gradle.util.internal.GFileUtils;
 
 import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 
 public class DefaultFileTreeElement extends AbstractFileTreeElement {
     private final File file;
@@ -72,6 +76,22 @@ public InputStream open() {
         return GFileUtils.openInputStream(file);
     }
 
+    /**
+     * Copies the content using {@link FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)}, which lets the operating system
+     * copy the bytes without moving them through the Java heap, and can use copy offloading such as {@code copy_file_range} on Linux.
+     */
+    @Override
+    protected void copyFile(File target) throws IOException {
+        try (FileChannel source = FileChannel.open(file.toPath(), StandardOpenOption.READ); FileOutputStream outputStream = new FileOutputStream(target)) {
+            FileChannel destination = outputStream.getChannel();
+            long position = 0;
+            long transferred;
+            while ((transferred = source.transferTo(position, Long.MAX_VALUE - position, destination)) > 0) {
+                position += transferred;
+            }
+        }
+    }
+
     @Override
     public RelativePath getRelativePath() {
         return relativePath;
@@ -16,6 +16,7 @@
 package org.gradle.api.internal.file
 
 import org.gradle.api.file.FileTreeElement
+import org.gradle.api.file.RelativePath
 import org.gradle.internal.file.Chmod
 import org.gradle.internal.file.Stat
 import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
@@ -36,4 +37,19 @@ class DefaultFileTreeElementTest extends Specification {
         expect:
         e.getPermissions().toUnixNumeric() == 0644
     }
+
+    def "copies content of file to target"() {
+        def f = tmpDir.file("f")
+        f.bytes = (0..<300000).collect { (byte) it } as byte[]
+        def target = tmpDir.file("dir/target")
+        target.parentFile.mkdirs()
+        target.text = "previous content that is longer than nothing"
+        FileTreeElement e = new DefaultFileTreeElement(f, RelativePath.parse(true, "f"), Stub(Chmod), Stub(Stat))
+
+        when:
+        e.copyTo(target)
+
+        then:
+        target.bytes == f.bytes
+    }
 }
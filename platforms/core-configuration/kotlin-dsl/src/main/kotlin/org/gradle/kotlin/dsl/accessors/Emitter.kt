@@ -19,6 +19,8 @@ package org.gradle.kotlin.dsl.accessors
 import org.gradle.api.NamedDomainObjectContainer
 import org.gradle.api.artifacts.Configuration
 import org.gradle.kotlin.dsl.concurrent.IO
+import org.gradle.kotlin.dsl.concurrent.ParallelMapper
+import org.gradle.kotlin.dsl.concurrent.SequentialMapper
 import org.gradle.kotlin.dsl.concurrent.writeFile
 import org.gradle.kotlin.dsl.support.bytecode.InternalName
 import org.gradle.kotlin.dsl.support.bytecode.beginFileFacadeClassHeader
@@ -36,23 +38,31 @@ fun IO.emitAccessorsFor(
     srcDir: File,
     binDir: File?,
     outputPackage: OutputPackage,
-    format: AccessorFormat
+    format: AccessorFormat,
+    mapper: ParallelMapper = SequentialMapper
 ): List<InternalName> {
 
     makeAccessorOutputDirs(srcDir, binDir, outputPackage.path)
 
     val moduleName = binDir?.name ?: "kotlin-dsl-accessors"
-    val emittedClassNames =
-        accessorsFor(projectSchema).map { accessor ->
-            emitClassFor(
+    // The classes of different accessors do not depend on each other, so they can be generated in parallel.
+    // The files are still written in order, from this thread.
+    val accessorClasses =
+        mapper.map(accessorsFor(projectSchema).toList()) { accessor ->
+            accessorClassFor(
                 accessor,
-                srcDir,
-                binDir,
                 outputPackage,
                 format,
-                moduleName
+                moduleName,
+                binDir != null
             )
-        }.toList()
+        }
+
+    for (accessorClass in accessorClasses) {
+        emitClass(accessorClass, srcDir, binDir, outputPackage)
+    }
+
+    val emittedClassNames = accessorClasses.map { it.className }
 
     if (binDir != null) {
         writeFile(
@@ -85,14 +95,22 @@ data class OutputPackage(val name: String) {
 
 
 private
-fun IO.emitClassFor(
+class AccessorClass(
+    val className: InternalName,
+    val sourceCode: List<String>,
+    val imports: List<String>,
+    val classBytes: ByteArray?
+)
+
+
+private
+fun accessorClassFor(
     accessor: Accessor,
-    srcDir: File,
-    binDir: File?,
     outputPackage: OutputPackage,
     format: AccessorFormat,
-    moduleName: String
-): InternalName {
+    moduleName: String,
+    withBytecode: Boolean
+): AccessorClass {
 
     val (simpleClassName, fragments) = fragmentsFor(accessor)
     val className = InternalName("${outputPackage.path}/$simpleClassName")
@@ -102,28 +120,42 @@ fun IO.emitClassFor(
         sourceCode.add(format(source))
     }
 
-    if (binDir != null) {
-        writeAccessorsBytecodeTo(
-            binDir,
-            className,
-            fragments,
-            ::collectSourceFragment,
-            moduleName
-        )
-    } else {
-        for ((source, _, _, _) in fragments) {
-            collectSourceFragment(source)
+    val classBytes =
+        if (withBytecode) {
+            accessorsBytecodeFor(
+                className,
+                fragments,
+                ::collectSourceFragment,
+                moduleName
+            )
+        } else {
+            for ((source, _, _, _) in fragments) {
+                collectSourceFragment(source)
+            }
+            null
         }
+
+    return AccessorClass(className, sourceCode, importsRequiredBy(accessor), classBytes)
+}
+
+
+private
+fun IO.emitClass(
+    accessorClass: AccessorClass,
+    srcDir: File,
+    binDir: File?,
+    outputPackage: OutputPackage
+) {
+    if (binDir != null && accessorClass.classBytes != null) {
+        writeFile(binDir.resolve("${accessorClass.className}.class"), accessorClass.classBytes)
     }
 
     writeAccessorsTo(
-        sourceFileFor(className, srcDir),
-        sourceCode,
-        importsRequiredBy(accessor),
+        sourceFileFor(accessorClass.className, srcDir),
+        accessorClass.sourceCode,
+        accessorClass.imports,
         outputPackage.name
     )
-
-    return className
 }
 
 
@@ -133,13 +165,12 @@ fun sourceFileFor(className: InternalName, srcDir: File) =
 
 
 private
-fun IO.writeAccessorsBytecodeTo(
-    binDir: File,
+fun accessorsBytecodeFor(
     className: InternalName,
     fragments: Sequence<AccessorFragment>,
     collectSourceFragment: (String) -> Unit,
     moduleName: String
-) {
+): ByteArray {
 
     val metadataWriter = beginFileFacadeClassHeader()
     val classWriter = beginPublicClass(className)
@@ -151,9 +182,7 @@ fun IO.writeAccessorsBytecodeTo(
     }
 
     val metadata = metadataWriter.closeHeader(moduleName)
-    val classBytes = classWriter.endKotlinClass(metadata)
-    val classFile = binDir.resolve("$className.class")
-    writeFile(classFile, classBytes)
+    return classWriter.endKotlinClass(metadata)
 }
 
 
@@ -16,13 +16,21 @@
 
 package org.gradle.kotlin.dsl.concurrent
 
+import org.gradle.concurrent.ParallelismConfiguration
+import org.gradle.internal.UncheckedException
 import org.gradle.internal.concurrent.ExecutorFactory
+import org.gradle.internal.work.ConditionalExecution
+import org.gradle.internal.work.DefaultConditionalExecutionQueue
+import org.gradle.internal.work.WorkerLeaseService
+import org.gradle.kotlin.dsl.support.uncheckedCast
 
 import java.io.Closeable
 import java.time.Duration
 
+import java.util.concurrent.ExecutionException
 import java.util.concurrent.ExecutorService
 import java.util.concurrent.Future
+import java.util.concurrent.FutureTask
 import java.util.concurrent.TimeUnit
 import java.util.concurrent.atomic.AtomicReference
 
@@ -33,6 +41,14 @@ object BuildServices {
     @Suppress("unused")
     fun createAsyncIOScopeFactory(executorFactory: ExecutorFactory): AsyncIOScopeFactory =
         DefaultAsyncIOScopeFactory { executorFactory.create("Kotlin DSL Writer", 1) }
+
+    @Suppress("unused")
+    fun createParallelMapper(
+        executorFactory: ExecutorFactory,
+        parallelismConfiguration: ParallelismConfiguration,
+        workerLeaseService: WorkerLeaseService
+    ): ParallelMapper =
+        WorkerLeaseParallelMapper(executorFactory, parallelismConfiguration, workerLeaseService)
 }
 
 
@@ -121,3 +137,68 @@ class DefaultAsyncIOScopeFactory(
         }
     }
 }
+
+
+/**
+ * Applies transforms on worker threads.
+ *
+ * Each transform holds a worker lease while it runs, so the Kotlin DSL shares the max worker count with the rest of the build.
+ * The calling thread applies the transforms no worker has started yet, so it never waits for a worker lease to become available.
+ */
+internal
+class WorkerLeaseParallelMapper(
+    executorFactory: ExecutorFactory,
+    parallelismConfiguration: ParallelismConfiguration,
+    workerLeaseService: WorkerLeaseService
+) : Closeable, ParallelMapper {
+
+    private
+    val maxWorkerCount = parallelismConfiguration.maxWorkerCount
+
+    private
+    val queue = DefaultConditionalExecutionQueue<Any?>("Kotlin DSL Worker", maxWorkerCount, executorFactory, workerLeaseService)
+
+    override fun <T, R> map(inputs: List<T>, transform: (T) -> R): List<R> {
+        if (maxWorkerCount <= 1 || inputs.size <= 1) {
+            return inputs.map(transform)
+        }
+        val executions = inputs.map { input -> Execution { transform(input) } }
+        try {
+            executions.forEach(queue::submit)
+            return executions.map { uncheckedCast<R>(it.await()) }
+        } finally {
+            executions.forEach(Execution::cancel)
+        }
+    }
+
+    override fun close() {
+        queue.stop()
+    }
+
+    private
+    class Execution(action: () -> Any?) : ConditionalExecution<Any?> {
+
+        private
+        val task = FutureTask(action)
+
+        override fun getExecution(): Runnable = task
+
+        override fun await(): Any? {
+            // Applies the transform on the calling thread unless a worker already did
+            task.run()
+            try {
+                return task.get()
+            } catch (e: ExecutionException) {
+                throw UncheckedException.throwAsUncheckedException(e.cause)
+            }
+        }
+
+        override fun complete() = Unit
+
+        override fun isComplete() = task.isDone
+
+        override fun cancel() {
+            task.cancel(false)
+        }
+    }
+}
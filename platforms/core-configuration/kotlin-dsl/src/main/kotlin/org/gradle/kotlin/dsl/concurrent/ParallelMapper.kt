@@ -0,0 +1,41 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.kotlin.dsl.concurrent
+
+import org.gradle.internal.service.scopes.Scopes
+import org.gradle.internal.service.scopes.ServiceScope
+
+
+/**
+ * Applies a transform to independent inputs, possibly in parallel.
+ */
+@ServiceScope(Scopes.Build::class)
+interface ParallelMapper {
+
+    /**
+     * Returns the results of applying [transform] to each of the [inputs], in the order of the [inputs].
+     *
+     * [transform] must be safe to apply from several threads at once.
+     */
+    fun <T, R> map(inputs: List<T>, transform: (T) -> R): List<R>
+}
+
+
+internal
+object SequentialMapper : ParallelMapper {
+    override fun <T, R> map(inputs: List<T>, transform: (T) -> R): List<R> = inputs.map(transform)
+}
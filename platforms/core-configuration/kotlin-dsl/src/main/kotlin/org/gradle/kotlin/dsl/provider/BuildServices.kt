@@ -49,6 +49,15 @@ const val KOTLIN_SCRIPT_COMPILATION_AVOIDANCE_ENABLED_PROPERTY =
     "org.gradle.kotlin.dsl.scriptCompilationAvoidance"
 
 
+/**
+ * When `true`, the Kotlin compiler application environment is kept for the life of the daemon
+ * instead of being disposed once the projects of each build are evaluated.
+ */
+internal
+const val KOTLIN_COMPILER_CONTEXT_REUSE_ENABLED_PROPERTY =
+    "org.gradle.kotlin.dsl.compilerContextReuse"
+
+
 internal
 object BuildServices {
 
@@ -148,9 +157,13 @@ object BuildServices {
 
     @Suppress("unused")
     fun createKotlinCompilerContextDisposer(listenerManager: ListenerManager) =
-        KotlinCompilerContextDisposer(listenerManager)
+        KotlinCompilerContextDisposer(listenerManager, isKotlinCompilerContextReuseEnabled)
 
     private
     val isKotlinScriptCompilationAvoidanceEnabled: Boolean
         get() = System.getProperty(KOTLIN_SCRIPT_COMPILATION_AVOIDANCE_ENABLED_PROPERTY, "true") == "true"
+
+    private
+    val isKotlinCompilerContextReuseEnabled: Boolean
+        get() = System.getProperty(KOTLIN_COMPILER_CONTEXT_REUSE_ENABLED_PROPERTY, "false") == "true"
 }
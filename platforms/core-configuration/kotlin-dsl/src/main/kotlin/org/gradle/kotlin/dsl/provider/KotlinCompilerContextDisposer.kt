@@ -25,10 +25,14 @@ import org.gradle.kotlin.dsl.support.disposeKotlinCompilerContext
 
 /**
  * Disposes Kotlin compiler environment once all scripts are compiled.
+ *
+ * When [reuseContext] is `true` the environment is kept, so that the scripts of later builds in the same daemon
+ * are compiled by an already warm compiler, at the cost of the memory it retains.
  */
 internal
 class KotlinCompilerContextDisposer(
-    private val listenerManager: ListenerManager
+    private val listenerManager: ListenerManager,
+    private val reuseContext: Boolean = false
 ) : InternalBuildAdapter(), Stoppable {
 
     init {
@@ -40,6 +44,8 @@ class KotlinCompilerContextDisposer(
     }
 
     override fun projectsEvaluated(gradle: Gradle) {
-        disposeKotlinCompilerContext()
+        if (!reuseContext) {
+            disposeKotlinCompilerContext()
+        }
     }
 }
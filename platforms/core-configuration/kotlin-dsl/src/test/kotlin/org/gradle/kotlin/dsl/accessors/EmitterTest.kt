@@ -0,0 +1,88 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.kotlin.dsl.accessors
+
+import org.gradle.api.Project
+import org.gradle.api.tasks.Delete
+import org.gradle.api.tasks.TaskContainer
+import org.gradle.internal.concurrent.DefaultExecutorFactory
+import org.gradle.internal.concurrent.DefaultParallelismConfiguration
+import org.gradle.kotlin.dsl.concurrent.ParallelMapper
+import org.gradle.kotlin.dsl.concurrent.SequentialMapper
+import org.gradle.kotlin.dsl.concurrent.SynchronousIO
+import org.gradle.kotlin.dsl.concurrent.WorkerLeaseParallelMapper
+import org.gradle.kotlin.dsl.fixtures.TestWithTempFiles
+import org.gradle.kotlin.dsl.support.useToRun
+import org.gradle.test.fixtures.work.TestWorkerLeaseService
+import org.hamcrest.CoreMatchers.equalTo
+import org.hamcrest.MatcherAssert.assertThat
+import org.junit.Test
+import java.io.File
+
+
+class EmitterTest : TestWithTempFiles() {
+
+    @Test
+    fun `accessors generated on worker threads are emitted as if generated sequentially`() {
+
+        // given:
+        val schema =
+            TypedProjectSchema(
+                extensions = (1..100).map { entry<Project, String>("extension$it") },
+                conventions = listOf(),
+                tasks = (1..100).map { entry<TaskContainer, Delete>("task$it") },
+                containerElements = listOf(),
+                configurations = (1..50).map { ConfigurationEntry("configuration$it") }
+            ).map { TypeAccessibility.Accessible(it) }
+
+        // when:
+        val sequential = emitAccessorsInto("sequential", schema, SequentialMapper)
+        val parallel = WorkerLeaseParallelMapper(
+            DefaultExecutorFactory(),
+            DefaultParallelismConfiguration(true, 4),
+            TestWorkerLeaseService()
+        ).useToRun {
+            emitAccessorsInto("parallel", schema, this)
+        }
+
+        // then:
+        assertThat(sequential.size, equalTo(300))
+        assertThat(
+            parallel.map { it.value },
+            equalTo(sequential.map { it.value })
+        )
+        assertThat(
+            contentsOf(file("parallel")),
+            equalTo(contentsOf(file("sequential")))
+        )
+    }
+
+    private
+    fun emitAccessorsInto(dir: String, schema: ProjectSchema<TypeAccessibility>, mapper: ParallelMapper) =
+        SynchronousIO.emitAccessorsFor(
+            schema,
+            newFolder(dir, "src"),
+            newFolder(dir, "bin"),
+            OutputPackage("accessors"),
+            AccessorFormats.default,
+            mapper
+        )
+
+    private
+    fun contentsOf(dir: File): Map<String, List<Byte>> =
+        dir.walkTopDown().filter { it.isFile }.associate { it.toRelativeString(dir) to it.readBytes().toList() }
+}
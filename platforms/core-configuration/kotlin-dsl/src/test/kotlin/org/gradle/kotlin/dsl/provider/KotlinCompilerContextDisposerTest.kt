@@ -0,0 +1,98 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.kotlin.dsl.provider
+
+import com.nhaarman.mockito_kotlin.mock
+import com.nhaarman.mockito_kotlin.verify
+import org.gradle.api.invocation.Gradle
+import org.gradle.internal.event.ListenerManager
+import org.gradle.kotlin.dsl.fixtures.TestWithTempFiles
+import org.gradle.kotlin.dsl.support.KotlinCompilerOptions
+import org.gradle.kotlin.dsl.support.compileToDirectory
+import org.gradle.kotlin.dsl.support.disposeKotlinCompilerContext
+import org.gradle.kotlin.dsl.support.loggerFor
+import org.gradle.util.SetSystemProperties
+import org.hamcrest.CoreMatchers.nullValue
+import org.hamcrest.CoreMatchers.sameInstance
+import org.hamcrest.MatcherAssert.assertThat
+import org.jetbrains.kotlin.cli.jvm.compiler.KotlinCoreApplicationEnvironment
+import org.jetbrains.kotlin.cli.jvm.compiler.KotlinCoreEnvironment
+import org.junit.After
+import org.junit.Assert.assertTrue
+import org.junit.Rule
+import org.junit.Test
+
+
+class KotlinCompilerContextDisposerTest : TestWithTempFiles() {
+
+    @Rule
+    @JvmField
+    val setSystemProperties = SetSystemProperties()
+
+    @After
+    fun disposeCompilerEnvironment() {
+        disposeKotlinCompilerContext()
+    }
+
+    @Test
+    fun `disposes compiler environment once projects are evaluated`() {
+
+        // given:
+        val listenerManager = mock<ListenerManager>()
+        val disposer = BuildServices.createKotlinCompilerContextDisposer(listenerManager)
+        verify(listenerManager).addListener(disposer)
+        compileToWarmUpCompiler("first")
+
+        // when:
+        disposer.projectsEvaluated(mock<Gradle>())
+
+        // then:
+        assertThat(KotlinCoreEnvironment.applicationEnvironment, nullValue())
+    }
+
+    @Test
+    fun `keeps compiler environment for later builds when context reuse is enabled`() {
+
+        // given:
+        System.setProperty(KOTLIN_COMPILER_CONTEXT_REUSE_ENABLED_PROPERTY, "true")
+        val disposer = BuildServices.createKotlinCompilerContextDisposer(mock())
+        val environment = compileToWarmUpCompiler("first")
+
+        // when:
+        disposer.projectsEvaluated(mock<Gradle>())
+
+        // then:
+        assertThat(KotlinCoreEnvironment.applicationEnvironment, sameInstance(environment))
+
+        // and: the next compilation reuses it
+        assertThat(compileToWarmUpCompiler("second"), sameInstance(environment))
+    }
+
+    private
+    fun compileToWarmUpCompiler(name: String): KotlinCoreApplicationEnvironment {
+        val compiled = compileToDirectory(
+            newFolder(name, "classes"),
+            KotlinCompilerOptions(),
+            name,
+            listOf(newFile("$name/src/Source.kt", "val $name = true")),
+            loggerFor<KotlinCompilerContextDisposerTest>(),
+            classPath = emptyList()
+        )
+        assertTrue(compiled)
+        return requireNotNull(KotlinCoreEnvironment.applicationEnvironment)
+    }
+}
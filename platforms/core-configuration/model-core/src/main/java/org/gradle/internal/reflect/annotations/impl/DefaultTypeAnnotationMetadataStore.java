@@ -90,6 +90,9 @@ public void visitValidationFailures(TypeValidationContext validationContext) {
     private final ImmutableSet<Class<? extends Annotation>> recordedTypeAnnotations;
     private final ImmutableSet<String> ignoredPackagePrefixes;
     private final ImmutableMap<Class<? extends Annotation>, AnnotationCategory> propertyAnnotationCategories;
+    // Metadata is only cached in memory for the life of the daemon.
+    // It refers to the getter Methods and Annotation instances of the type, which can only be obtained through reflection,
+    // and its validation problems are replayed as builders of the problem being reported, so restoring it from disk would not avoid reflecting on the type.
     private final CrossBuildInMemoryCache<Class<?>, TypeAnnotationMetadata> cache;
     private final ImmutableSet<String> potentiallyIgnoredMethodNames;
     private final ImmutableSet<Equivalence.Wrapper<Method>> globallyIgnoredMethods;
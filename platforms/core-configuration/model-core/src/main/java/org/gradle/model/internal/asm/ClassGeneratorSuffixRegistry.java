@@ -20,6 +20,12 @@
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Keeps track of the suffixes used in the names of generated classes, so that class generators do not generate classes with the same name.
+ *
+ * <p>Assigned suffixes depend on the order in which class generators are created, so the names of generated classes are not stable
+ * across daemons. This is one reason generated classes are not persisted and reused by later daemons.</p>
+ */
 public class ClassGeneratorSuffixRegistry {
     // Use Throwable to record the location where a suffix was registered, to allow diagnostics when a collision is found
     // This may have performance implications, however the assumption is that class generators are global scoped objects that are created once and in very small numbers
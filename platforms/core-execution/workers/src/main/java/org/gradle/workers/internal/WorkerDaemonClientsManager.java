@@ -41,6 +41,7 @@
 import java.util.List;
 
 import static java.util.Comparator.*;
+import static org.gradle.process.internal.util.MergeOptionsUtil.getHeapSizeMb;
 
 public class WorkerDaemonClientsManager implements Stoppable {
 
@@ -83,24 +84,42 @@ public WorkerDaemonClient reserveIdleClient(DaemonForkOptions forkOptions) {
 
     WorkerDaemonClient reserveIdleClient(DaemonForkOptions forkOptions, List<WorkerDaemonClient> clients) {
         synchronized (lock) {
+            WorkerDaemonClient bestFit = null;
             Iterator<WorkerDaemonClient> it = clients.iterator();
             while (it.hasNext()) {
                 WorkerDaemonClient candidate = it.next();
                 if (candidate.isCompatibleWith(forkOptions)) {
-                    it.remove();
                     if (candidate.getLogLevel() != currentLogLevel) {
                         // TODO: Send a message to workers to change their log level rather than stopping
+                        it.remove();
                         LOGGER.info("Log level has changed, stopping idle worker daemon with out-of-date log level.");
                         candidate.stop();
-                    } else {
-                        return candidate;
+                    } else if (bestFit == null || hasSmallerHeap(candidate, bestFit)) {
+                        bestFit = candidate;
                     }
                 }
             }
-            return null;
+            if (bestFit != null) {
+                clients.remove(bestFit);
+            }
+            return bestFit;
         }
     }
 
+    /**
+     * Compatible daemons may have been started with a larger heap than required.
+     * Prefer the smallest one, so that larger daemons remain available for requests that actually need them
+     * instead of causing a new daemon to be started.
+     */
+    private static boolean hasSmallerHeap(WorkerDaemonClient candidate, WorkerDaemonClient bestFit) {
+        return maxHeapSizeMb(candidate) < maxHeapSizeMb(bestFit);
+    }
+
+    private static int maxHeapSizeMb(WorkerDaemonClient client) {
+        DaemonForkOptions forkOptions = client.getForkOptions();
+        return forkOptions == null ? -1 : getHeapSizeMb(forkOptions.getJavaForkOptions().getMaxHeapSize());
+    }
+
     public WorkerDaemonClient reserveNewClient(DaemonForkOptions forkOptions) {
         //allow the daemon to be started concurrently
         WorkerDaemonClient client = workerDaemonStarter.startDaemon(forkOptions, workerProcessCleanupAction);
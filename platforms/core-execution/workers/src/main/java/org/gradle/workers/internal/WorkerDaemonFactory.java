@@ -16,8 +16,11 @@
 
 package org.gradle.workers.internal;
 
+import org.gradle.internal.operations.BuildOperationContext;
+import org.gradle.internal.operations.BuildOperationDescriptor;
 import org.gradle.internal.operations.BuildOperationExecutor;
 import org.gradle.internal.operations.BuildOperationRef;
+import org.gradle.internal.operations.CallableBuildOperation;
 import org.gradle.internal.operations.CurrentBuildOperationRef;
 
 import javax.annotation.concurrent.ThreadSafe;
@@ -53,10 +56,25 @@ private WorkerDaemonClient reserveClient() {
                 DaemonForkOptions forkOptions = ((ForkedWorkerRequirement) workerRequirement).getForkOptions();
                 WorkerDaemonClient client = clientsManager.reserveIdleClient(forkOptions);
                 if (client == null) {
-                    client = clientsManager.reserveNewClient(forkOptions);
+                    client = startNewClient(forkOptions);
                 }
                 return client;
             }
+
+            private WorkerDaemonClient startNewClient(DaemonForkOptions forkOptions) {
+                // Make worker daemon starts, and the time spent waiting for them, visible in the build operation trace
+                return buildOperationExecutor.call(new CallableBuildOperation<WorkerDaemonClient>() {
+                    @Override
+                    public WorkerDaemonClient call(BuildOperationContext context) {
+                        return clientsManager.reserveNewClient(forkOptions);
+                    }
+
+                    @Override
+                    public BuildOperationDescriptor.Builder description() {
+                        return BuildOperationDescriptor.displayName("Start worker daemon");
+                    }
+                });
+            }
         };
     }
 }
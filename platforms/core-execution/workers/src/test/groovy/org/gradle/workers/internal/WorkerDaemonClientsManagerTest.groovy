@@ -26,6 +26,7 @@ import org.gradle.internal.logging.LoggingManagerInternal
 import org.gradle.internal.logging.events.LogLevelChangeEvent
 import org.gradle.internal.logging.events.OutputEventListener
 import org.gradle.internal.service.scopes.Scopes
+import org.gradle.process.JavaForkOptions
 import org.gradle.process.internal.ExecException
 import org.gradle.process.internal.health.memory.MBeanOsMemoryInfo
 import org.gradle.process.internal.health.memory.MemoryManager
@@ -66,6 +67,22 @@ class WorkerDaemonClientsManagerTest extends ConcurrentSpecification {
         input == [noMatch] //match removed from input
     }
 
+    def "reserves compatible idle client with the smallest heap"() {
+        def large = Stub(WorkerDaemonClient) {
+            isCompatibleWith(_) >> true
+            getForkOptions() >> forkOptionsWithMaxHeap("2g")
+        }
+        def small = Stub(WorkerDaemonClient) {
+            isCompatibleWith(_) >> true
+            getForkOptions() >> forkOptionsWithMaxHeap("512m")
+        }
+        def input = [large, small]
+
+        expect:
+        manager.reserveIdleClient(options, input) == small
+        input == [large]
+    }
+
     def "reserves new client"() {
         def newClient = Stub(WorkerDaemonClient)
         starter.startDaemon(options, _) >> newClient
@@ -304,4 +321,12 @@ class WorkerDaemonClientsManagerTest extends ConcurrentSpecification {
         then:
         1 * memoryManager.removeMemoryHolder(_) >> { args -> assert args[0] == workerDaemonExpiration }
     }
+
+    private DaemonForkOptions forkOptionsWithMaxHeap(String maxHeapSize) {
+        return Stub(DaemonForkOptions) {
+            getJavaForkOptions() >> Stub(JavaForkOptions) {
+                getMaxHeapSize() >> maxHeapSize
+            }
+        }
+    }
 }
@@ -56,6 +56,7 @@ class WorkerDaemonFactoryTest extends Specification {
         1 * clientsManager.reserveIdleClient(options) >> null
 
         then:
+        1 * buildOperationExecutor.call({ it.description().build().displayName == "Start worker daemon" }) >> { args -> args[0].call(Stub(BuildOperationContext)) }
         1 * clientsManager.reserveNewClient(options) >> client
 
         then:
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.operations;
+
+/**
+ * A {@link BuildOperationListener} that does not need to be notified on the thread that executes the build operation.
+ *
+ * When registered with {@link BuildOperationListenerManager}, notifications for such a listener are queued
+ * and delivered in batches by a dedicated thread, so that the listener's work does not slow down the operations themselves.
+ * The number of pending notifications is bounded: when the listener falls too far behind, the threads executing build operations wait for it to catch up.
+ * Notifications are delivered one at a time and in the order they were emitted, so a listener always sees an operation start before it sees
+ * the operation's progress and finish notifications.
+ * The listener cannot rely on {@link CurrentBuildOperationRef} or other thread state of the emitting thread.
+ *
+ * All notifications emitted before {@link BuildOperationListenerManager#removeListener(BuildOperationListener)} is called are delivered before it returns.
+ * Notifications emitted concurrently with or after the removal are either delivered before it returns or discarded, they are never delivered afterwards.
+ */
+public interface AsynchronousBuildOperationListener extends BuildOperationListener {
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.operations;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Delivers notifications to an {@link AsynchronousBuildOperationListener} from a thread of the given executor, which it keeps until stopped.
+ *
+ * Once {@code capacity} notifications are pending, emitting threads block until the listener catches up, so a slow listener cannot make the queue grow without bound.
+ * Notifications emitted once {@link #stop()} has been called are discarded.
+ */
+class AsynchronousBuildOperationListenerDispatch implements BuildOperationListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsynchronousBuildOperationListenerDispatch.class);
+    private static final int MAX_BATCH_SIZE = 1000;
+    private static final int DEFAULT_CAPACITY = 10000;
+
+    private final BlockingQueue<Notification> queue = new LinkedBlockingQueue<Notification>();
+    private final Semaphore capacity;
+    // Held for reading while queueing a notification and for writing while stopping, so that no notification can be queued after END
+    private final ReadWriteLock stopLock = new ReentrantReadWriteLock();
+    private volatile boolean stopped;
+    private final BuildOperationListener delegate;
+    private final CountDownLatch dispatchFinished = new CountDownLatch(1);
+    private volatile Thread dispatchThread;
+
+    AsynchronousBuildOperationListenerDispatch(BuildOperationListener delegate, Executor executor) {
+        this(delegate, executor, DEFAULT_CAPACITY);
+    }
+
+    AsynchronousBuildOperationListenerDispatch(BuildOperationListener delegate, Executor executor, int capacity) {
+        this.delegate = delegate;
+        this.capacity = new Semaphore(capacity);
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                dispatchThread = Thread.currentThread();
+                try {
+                    dispatch();
+                } finally {
+                    dispatchFinished.countDown();
+                }
+            }
+        });
+    }
+
+    @Override
+    public void started(BuildOperationDescriptor buildOperation, OperationStartEvent startEvent) {
+        queue(new Notification(buildOperation, null, startEvent));
+    }
+
+    @Override
+    public void progress(OperationIdentifier operationIdentifier, OperationProgressEvent progressEvent) {
+        queue(new Notification(null, operationIdentifier, progressEvent));
+    }
+
+    @Override
+    public void finished(BuildOperationDescriptor buildOperation, OperationFinishEvent finishEvent) {
+        queue(new Notification(buildOperation, null, finishEvent));
+    }
+
+    private void queue(Notification notification) {
+        if (stopped) {
+            return;
+        }
+        // The dispatch thread cannot wait for itself to catch up, so notifications emitted by the listener itself are not limited
+        if (Thread.currentThread() != dispatchThread) {
+            capacity.acquireUninterruptibly();
+            notification.holdsPermit = true;
+        }
+        stopLock.readLock().lock();
+        try {
+            if (!stopped) {
+                queue.add(notification);
+                return;
+            }
+        } finally {
+            stopLock.readLock().unlock();
+        }
+        notification.release(capacity);
+    }
+
+    /**
+     * Delivers all notifications queued so far and stops the dispatch thread.
+     * Notifications emitted after this method has been called are discarded.
+     */
+    void stop() {
+        stopLock.writeLock().lock();
+        try {
+            if (!stopped) {
+                stopped = true;
+                queue.add(Notification.END);
+            }
+        } finally {
+            stopLock.writeLock().unlock();
+        }
+        if (Thread.currentThread() == dispatchThread) {
+            return;
+        }
+        boolean interrupted = false;
+        while (true) {
+            try {
+                dispatchFinished.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void dispatch() {
+        List<Notification> batch = new ArrayList<Notification>();
+        while (true) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                continue;
+            }
+            queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+            for (Notification notification : batch) {
+                if (notification == Notification.END) {
+                    return;
+                }
+                try {
+                    notification.deliverTo(delegate);
+                } catch (Throwable t) {
+                    // There is no operation left to fail, so the best we can do is to report the problem
+                    LOGGER.error("Build operation listener " + delegate + " failed.", t);
+                } finally {
+                    notification.release(capacity);
+                }
+            }
+            batch.clear();
+        }
+    }
+
+    private static class Notification {
+        static final Notification END = new Notification(null, null, null);
+
+        private final BuildOperationDescriptor buildOperation;
+        private final OperationIdentifier operationIdentifier;
+        private final Object event;
+        private boolean holdsPermit;
+
+        Notification(BuildOperationDescriptor buildOperation, OperationIdentifier operationIdentifier, Object event) {
+            this.buildOperation = buildOperation;
+            this.operationIdentifier = operationIdentifier;
+            this.event = event;
+        }
+
+        void deliverTo(BuildOperationListener listener) {
+            if (event instanceof OperationStartEvent) {
+                listener.started(buildOperation, (OperationStartEvent) event);
+            } else if (event instanceof OperationProgressEvent) {
+                listener.progress(operationIdentifier, (OperationProgressEvent) event);
+            } else {
+                listener.finished(buildOperation, (OperationFinishEvent) event);
+            }
+        }
+
+        void release(Semaphore capacity) {
+            if (holdsPermit) {
+                capacity.release();
+            }
+        }
+    }
+}
@@ -33,6 +33,8 @@
  * the corresponding start notification or after they have received the corresponding finished notification.
  * Such notifications are just discarded for the listener.
  *
+ * Listeners that implement {@link AsynchronousBuildOperationListener} are notified from a dedicated thread instead of the thread executing the operation.
+ *
  * @since 3.5
  */
 @ServiceScope(Scope.Global.class)
@@ -16,16 +16,18 @@
 
 package org.gradle.internal.operations;
 
+import java.io.Closeable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
-public class DefaultBuildOperationListenerManager implements BuildOperationListenerManager {
+public class DefaultBuildOperationListenerManager implements BuildOperationListenerManager, Closeable {
 
     // This cannot be CopyOnWriteArrayList because we need to iterate it in reverse,
     // which requires atomically getting an iterator and the size.
@@ -33,6 +35,7 @@ public class DefaultBuildOperationListenerManager implements BuildOperationListe
     // making a (albeit home grown) copy-on-write strategy more appealing.
     private List<ProgressShieldingBuildOperationListener> listeners = Collections.emptyList();
     private final Lock listenersLock = new ReentrantLock();
+    private final Executor asynchronousListenerExecutor;
 
     private final BuildOperationListener broadcaster = new BuildOperationListener() {
         @Override
@@ -62,12 +65,19 @@ public void finished(BuildOperationDescriptor buildOperation, OperationFinishEve
         }
     };
 
+    /**
+     * @param asynchronousListenerExecutor provides the threads that deliver notifications to {@link AsynchronousBuildOperationListener}s, one for each such listener.
+     */
+    public DefaultBuildOperationListenerManager(Executor asynchronousListenerExecutor) {
+        this.asynchronousListenerExecutor = asynchronousListenerExecutor;
+    }
+
     @Override
     public void addListener(BuildOperationListener listener) {
         listenersLock.lock();
         try {
             List<ProgressShieldingBuildOperationListener> listeners = new ArrayList<ProgressShieldingBuildOperationListener>(this.listeners);
-            listeners.add(new ProgressShieldingBuildOperationListener(listener));
+            listeners.add(new ProgressShieldingBuildOperationListener(listener, asynchronousListenerExecutor));
             this.listeners = listeners;
         } finally {
             listenersLock.unlock();
@@ -76,19 +86,43 @@ public void addListener(BuildOperationListener listener) {
 
     @Override
     public void removeListener(BuildOperationListener listener) {
+        List<ProgressShieldingBuildOperationListener> removed = new ArrayList<ProgressShieldingBuildOperationListener>();
         listenersLock.lock();
         try {
             List<ProgressShieldingBuildOperationListener> listeners = new ArrayList<ProgressShieldingBuildOperationListener>(this.listeners);
             ListIterator<ProgressShieldingBuildOperationListener> listIterator = listeners.listIterator();
             while (listIterator.hasNext()) {
-                if (listIterator.next().delegate.equals(listener)) {
+                ProgressShieldingBuildOperationListener next = listIterator.next();
+                if (next.delegate.equals(listener)) {
                     listIterator.remove();
+                    removed.add(next);
                 }
             }
             this.listeners = listeners;
         } finally {
             listenersLock.unlock();
         }
+        for (ProgressShieldingBuildOperationListener removedListener : removed) {
+            removedListener.stop();
+        }
+    }
+
+    /**
+     * Stops delivering notifications to the {@link AsynchronousBuildOperationListener}s that are still registered, so that their threads are given back to the executor.
+     */
+    @Override
+    public void close() {
+        List<ProgressShieldingBuildOperationListener> remaining;
+        listenersLock.lock();
+        try {
+            remaining = this.listeners;
+            this.listeners = Collections.emptyList();
+        } finally {
+            listenersLock.unlock();
+        }
+        for (ProgressShieldingBuildOperationListener listener : remaining) {
+            listener.stop();
+        }
     }
 
     @Override
@@ -103,28 +137,36 @@ private static class ProgressShieldingBuildOperationListener implements BuildOpe
 
         private final Map<OperationIdentifier, Boolean> active = new ConcurrentHashMap<OperationIdentifier, Boolean>();
         private final BuildOperationListener delegate;
+        private final BuildOperationListener target;
 
-        private ProgressShieldingBuildOperationListener(BuildOperationListener delegate) {
+        private ProgressShieldingBuildOperationListener(BuildOperationListener delegate, Executor asynchronousListenerExecutor) {
             this.delegate = delegate;
+            this.target = delegate instanceof AsynchronousBuildOperationListener ? new AsynchronousBuildOperationListenerDispatch(delegate, asynchronousListenerExecutor) : delegate;
+        }
+
+        void stop() {
+            if (target instanceof AsynchronousBuildOperationListenerDispatch) {
+                ((AsynchronousBuildOperationListenerDispatch) target).stop();
+            }
         }
 
         @Override
         public void started(BuildOperationDescriptor buildOperation, OperationStartEvent startEvent) {
             active.put(buildOperation.getId(), Boolean.TRUE);
-            delegate.started(buildOperation, startEvent);
+            target.started(buildOperation, startEvent);
         }
 
         @Override
         public void progress(OperationIdentifier operationIdentifier, OperationProgressEvent progressEvent) {
             if (active.containsKey(operationIdentifier)) {
-                delegate.progress(operationIdentifier, progressEvent);
+                target.progress(operationIdentifier, progressEvent);
             }
         }
 
         @Override
         public void finished(BuildOperationDescriptor buildOperation, OperationFinishEvent finishEvent) {
             active.remove(buildOperation.getId());
-            delegate.finished(buildOperation, finishEvent);
+            target.finished(buildOperation, finishEvent);
         }
     }
 }
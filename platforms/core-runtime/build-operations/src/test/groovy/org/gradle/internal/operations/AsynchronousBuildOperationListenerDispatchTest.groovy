@@ -0,0 +1,145 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.internal.operations
+
+import spock.lang.Specification
+import spock.lang.Timeout
+
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicReference
+
+@Timeout(30)
+class AsynchronousBuildOperationListenerDispatchTest extends Specification {
+
+    ExecutorService executor = Executors.newCachedThreadPool()
+    def events = new CopyOnWriteArrayList<OperationIdentifier>()
+    def startEvent = new OperationStartEvent(0)
+    def finishEvent = new OperationFinishEvent(0, 0, null, null)
+
+    def "discards notifications emitted after stop"() {
+        def dispatch = new AsynchronousBuildOperationListenerDispatch(recordingListener(), executor)
+
+        when:
+        dispatch.started(operation(1), startEvent)
+        dispatch.stop()
+        dispatch.started(operation(2), startEvent)
+        dispatch.finished(operation(1), finishEvent)
+
+        then:
+        events == [new OperationIdentifier(1)]
+
+        when:
+        dispatch.stop()
+
+        then:
+        events == [new OperationIdentifier(1)]
+    }
+
+    def "blocks emitting thread while the listener is behind"() {
+        def release = new CountDownLatch(1)
+        def listener = new RecordingListener() {
+            @Override
+            void started(BuildOperationDescriptor buildOperation, OperationStartEvent startEvent) {
+                release.await()
+                super.started(buildOperation, startEvent)
+            }
+        }
+        def dispatch = new AsynchronousBuildOperationListenerDispatch(listener, executor, 2)
+        def emitted = new CountDownLatch(1)
+
+        when:
+        def emitter = Thread.start {
+            (1..4).each { dispatch.started(operation(it), startEvent) }
+            emitted.countDown()
+        }
+
+        then:
+        !emitted.await(200, TimeUnit.MILLISECONDS)
+
+        when:
+        release.countDown()
+        emitter.join()
+        dispatch.stop()
+
+        then:
+        emitted.count == 0
+        events == (1..4).collect { new OperationIdentifier(it) }
+    }
+
+    def "listener can emit notifications and stop itself without waiting for itself"() {
+        def stopped = new CountDownLatch(2)
+        def dispatchRef = new AtomicReference<AsynchronousBuildOperationListenerDispatch>()
+        def listener = new RecordingListener() {
+            @Override
+            void started(BuildOperationDescriptor buildOperation, OperationStartEvent startEvent) {
+                super.started(buildOperation, startEvent)
+                dispatchRef.get().finished(buildOperation, finishEvent)
+                dispatchRef.get().finished(buildOperation, finishEvent)
+            }
+
+            @Override
+            void finished(BuildOperationDescriptor buildOperation, OperationFinishEvent finishEvent) {
+                super.finished(buildOperation, finishEvent)
+                dispatchRef.get().stop()
+                stopped.countDown()
+            }
+        }
+        def dispatch = new AsynchronousBuildOperationListenerDispatch(listener, executor, 1)
+        dispatchRef.set(dispatch)
+
+        when:
+        dispatch.started(operation(1), startEvent)
+        stopped.await()
+        dispatch.stop()
+
+        then:
+        events == [new OperationIdentifier(1), new OperationIdentifier(1), new OperationIdentifier(1)]
+    }
+
+    def cleanup() {
+        executor.shutdownNow()
+    }
+
+    BuildOperationListener recordingListener() {
+        new RecordingListener()
+    }
+
+    static BuildOperationDescriptor operation(long id) {
+        BuildOperationDescriptor.displayName("$id").build(new OperationIdentifier(id), null)
+    }
+
+    class RecordingListener implements BuildOperationListener {
+        @Override
+        void started(BuildOperationDescriptor buildOperation, OperationStartEvent startEvent) {
+            events << buildOperation.id
+        }
+
+        @Override
+        void progress(OperationIdentifier operationIdentifier, OperationProgressEvent progressEvent) {
+        }
+
+        @Override
+        void finished(BuildOperationDescriptor buildOperation, OperationFinishEvent finishEvent) {
+            events << buildOperation.id
+        }
+    }
+}
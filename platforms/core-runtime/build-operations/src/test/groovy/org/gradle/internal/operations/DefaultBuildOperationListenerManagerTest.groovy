@@ -18,9 +18,14 @@ package org.gradle.internal.operations
 
 import spock.lang.Specification
 
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
 class DefaultBuildOperationListenerManagerTest extends Specification {
 
-    def manager = new DefaultBuildOperationListenerManager()
+    ExecutorService executor = Executors.newCachedThreadPool()
+    def manager = new DefaultBuildOperationListenerManager(executor)
     def broadcaster = manager.broadcaster
     def events = []
 
@@ -122,6 +127,94 @@ class DefaultBuildOperationListenerManagerTest extends Specification {
         ]
     }
 
+    def "delivers notifications to asynchronous listeners on another thread in emission order"() {
+        def threads = [] as Set
+        def asyncEvents = []
+        def listener = new AsynchronousBuildOperationListener() {
+            @Override
+            void started(BuildOperationDescriptor buildOperation, OperationStartEvent startEvent) {
+                threads << Thread.currentThread()
+                asyncEvents << start("async", buildOperation.id)
+            }
+
+            @Override
+            void progress(OperationIdentifier operationIdentifier, OperationProgressEvent progressEvent) {
+                threads << Thread.currentThread()
+                asyncEvents << progress("async", operationIdentifier)
+            }
+
+            @Override
+            void finished(BuildOperationDescriptor buildOperation, OperationFinishEvent finishEvent) {
+                threads << Thread.currentThread()
+                asyncEvents << finished("async", buildOperation.id)
+            }
+        }
+        manager.addListener(listener)
+
+        when:
+        broadcaster.started(op1, startEvent)
+        broadcaster.started(op2, startEvent)
+        broadcaster.progress(id1, progressEvent)
+        broadcaster.finished(op2, finishEvent)
+        broadcaster.finished(op1, finishEvent)
+        manager.removeListener(listener)
+
+        then:
+        asyncEvents == [
+            start("async", id1),
+            start("async", id2),
+            progress("async", id1),
+            finished("async", id2),
+            finished("async", id1)
+        ]
+        threads.size() == 1
+        !threads.contains(Thread.currentThread())
+
+        when:
+        broadcaster.started(op1, startEvent)
+
+        then:
+        asyncEvents.size() == 5
+    }
+
+    def "stops delivering notifications to asynchronous listeners when closed"() {
+        def asyncEvents = []
+        def listener = new AsynchronousBuildOperationListener() {
+            @Override
+            void started(BuildOperationDescriptor buildOperation, OperationStartEvent startEvent) {
+                asyncEvents << start("async", buildOperation.id)
+            }
+
+            @Override
+            void progress(OperationIdentifier operationIdentifier, OperationProgressEvent progressEvent) {
+            }
+
+            @Override
+            void finished(BuildOperationDescriptor buildOperation, OperationFinishEvent finishEvent) {
+                asyncEvents << finished("async", buildOperation.id)
+            }
+        }
+        manager.addListener(listener)
+
+        when:
+        broadcaster.started(op1, startEvent)
+        manager.close()
+        broadcaster.finished(op1, finishEvent)
+
+        then:
+        asyncEvents == [start("async", id1)]
+
+        when:
+        executor.shutdown()
+
+        then:
+        executor.awaitTermination(10, TimeUnit.SECONDS)
+    }
+
+    def cleanup() {
+        executor.shutdownNow()
+    }
+
     BuildOperationListener recordingListener(String label) {
         new RecordingListener(label)
     }
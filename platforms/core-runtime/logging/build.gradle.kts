@@ -1,11 +1,19 @@
 plugins {
     id("gradlebuild.distribution.api-java")
+    id("gradlebuild.jmh")
 }
 
 description = "Logging infrastructure"
 
 gradlebuildJava.usedInWorkers()
 
+/**
+ * Use Java 8 compatibility for JMH benchmarks
+ */
+tasks.named<JavaCompile>("jmhCompileGeneratedClasses") {
+    options.release = 8
+}
+
 dependencies {
     api(project(":logging-api"))
     api(project(":enterprise-logging"))
@@ -42,6 +50,8 @@ dependencies {
     testFixturesImplementation(libs.slf4jApi)
 
     integTestDistributionRuntimeOnly(project(":distributions-core"))
+
+    jmhImplementation(project(":base-services"))
 }
 
 packageCycles {
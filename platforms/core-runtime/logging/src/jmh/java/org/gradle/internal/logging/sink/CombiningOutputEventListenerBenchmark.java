@@ -0,0 +1,137 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.internal.logging.sink;
+
+import org.gradle.api.logging.LogLevel;
+import org.gradle.internal.concurrent.DefaultExecutorFactory;
+import org.gradle.internal.concurrent.ManagedExecutor;
+import org.gradle.internal.logging.events.LogEvent;
+import org.gradle.internal.logging.events.OutputEvent;
+import org.gradle.internal.logging.events.OutputEventListener;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Measures the number of log events per second that concurrent threads can hand to a listener that is not thread-safe,
+ * using {@link CombiningOutputEventListener} and, for comparison, by holding the lock while forwarding each event.
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@OperationsPerInvocation(CombiningOutputEventListenerBenchmark.EVENTS_PER_INVOCATION)
+public class CombiningOutputEventListenerBenchmark {
+    static final int EVENTS_PER_INVOCATION = 16000;
+
+    @Param({"1", "4", "16"})
+    int producers;
+
+    /**
+     * The work done by the listener for each event, in {@link Blackhole#consumeCPU(long)} tokens.
+     */
+    @Param({"0", "100"})
+    long listenerCost;
+
+    private DefaultExecutorFactory executorFactory;
+    private ManagedExecutor executor;
+    private ReentrantLock lock;
+    private OutputEventListener listener;
+    private CombiningOutputEventListener combiningListener;
+    private LogEvent event;
+    private volatile OutputEvent lastEvent;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        executorFactory = new DefaultExecutorFactory();
+        executor = executorFactory.create("benchmark producer");
+        lock = new ReentrantLock();
+        listener = new OutputEventListener() {
+            @Override
+            public void onOutput(OutputEvent event) {
+                Blackhole.consumeCPU(listenerCost);
+                lastEvent = event;
+            }
+        };
+        combiningListener = new CombiningOutputEventListener(listener, lock);
+        event = new LogEvent(0, "category", LogLevel.LIFECYCLE, "message", null);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.stop();
+        executorFactory.stop();
+    }
+
+    @Benchmark
+    public void combining() throws Exception {
+        produce(new Runnable() {
+            @Override
+            public void run() {
+                combiningListener.onOutput(event);
+            }
+        });
+    }
+
+    @Benchmark
+    public void locking() throws Exception {
+        produce(new Runnable() {
+            @Override
+            public void run() {
+                lock.lock();
+                try {
+                    listener.onOutput(event);
+                } finally {
+                    lock.unlock();
+                }
+            }
+        });
+    }
+
+    private void produce(final Runnable emitEvent) throws Exception {
+        final int eventsPerProducer = EVENTS_PER_INVOCATION / producers;
+        List<Future<?>> produced = new ArrayList<Future<?>>(producers);
+        for (int i = 0; i < producers; i++) {
+            produced.add(executor.submit(new Runnable() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < eventsPerProducer; j++) {
+                        emitEvent.run();
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : produced) {
+            future.get();
+        }
+    }
+}
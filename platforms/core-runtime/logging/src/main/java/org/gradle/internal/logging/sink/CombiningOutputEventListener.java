@@ -0,0 +1,123 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.internal.logging.sink;
+
+import org.gradle.internal.logging.events.OutputEvent;
+import org.gradle.internal.logging.events.OutputEventListener;
+import org.gradle.internal.logging.events.ProgressCompleteEvent;
+import org.gradle.internal.logging.events.ProgressEvent;
+import org.gradle.internal.logging.events.ProgressStartEvent;
+import org.gradle.internal.logging.events.RenderableOutputEvent;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Forwards output events to a listener that is not thread-safe, without making threads that produce output wait for each other.
+ *
+ * <p>Events are queued and forwarded by whichever thread holds the lock. A thread that finds the lock held by another thread leaves its
+ * log and progress events to that thread, which forwards the queued events before releasing the lock. Events are forwarded in the order
+ * they were queued, so the events of each thread stay in order. All other events, such as flush and end of output, have been forwarded
+ * when {@link #onOutput(OutputEvent)} returns.</p>
+ *
+ * <p>The listener is called by the threads that produce output, one thread at a time. Once {@link #MAX_QUEUED_EVENTS} events are queued,
+ * threads wait for the lock and forward events themselves instead of leaving them to the thread holding the lock, so the queue holds at most
+ * that many events plus one for each producing thread. Each time a thread forwards queued events, it forwards at most the events that were
+ * queued when it started, and it stops forwarding once another thread is waiting to take over, so a thread that produces output is not kept
+ * forwarding the output of other threads for long.</p>
+ *
+ * <p>Code that changes the listener while holding the lock must release it using {@link #unlock()}, so that events queued in the meantime are forwarded.</p>
+ */
+public class CombiningOutputEventListener implements OutputEventListener {
+    static final int MAX_QUEUED_EVENTS = 1000;
+
+    private final Queue<OutputEvent> queue = new ConcurrentLinkedQueue<OutputEvent>();
+    // Incremented before an event is added to the queue, so never less than the number of queued events
+    private final AtomicInteger queued = new AtomicInteger();
+    private final OutputEventListener listener;
+    private final ReentrantLock lock;
+
+    public CombiningOutputEventListener(OutputEventListener listener, ReentrantLock lock) {
+        this.listener = listener;
+        this.lock = lock;
+    }
+
+    @Override
+    public void onOutput(OutputEvent event) {
+        if (lock.isHeldByCurrentThread()) {
+            // Generated while forwarding another event, or while the listener is being changed
+            listener.onOutput(event);
+            return;
+        }
+        int queuedBefore = queued.getAndIncrement();
+        queue.add(event);
+        if (isCombinable(event) && queuedBefore < MAX_QUEUED_EVENTS) {
+            forwardQueuedEventsIfLockAvailable();
+        } else {
+            lock.lock();
+            unlock();
+        }
+    }
+
+    /**
+     * Releases the lock held by the current thread. Forwards queued events when this releases the lock completely.
+     */
+    public void unlock() {
+        try {
+            if (lock.getHoldCount() == 1) {
+                forwardQueuedEvents();
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (!lock.isHeldByCurrentThread()) {
+            forwardQueuedEventsIfLockAvailable();
+        }
+    }
+
+    private void forwardQueuedEventsIfLockAvailable() {
+        // Check the queue again after releasing the lock, as other threads may have queued events and failed to acquire the lock in the meantime.
+        // A thread waiting for the lock forwards queued events once it acquires it, so leave the remaining events to that thread.
+        while (!queue.isEmpty() && !lock.hasQueuedThreads() && lock.tryLock()) {
+            try {
+                forwardQueuedEvents();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void forwardQueuedEvents() {
+        // Forward only the events queued so far, events queued in the meantime are forwarded by the loop in forwardQueuedEventsIfLockAvailable() or by another thread
+        int count = queued.get();
+        for (int i = 0; i < count; i++) {
+            OutputEvent event = queue.poll();
+            if (event == null) {
+                break;
+            }
+            queued.decrementAndGet();
+            listener.onOutput(event);
+        }
+    }
+
+    private static boolean isCombinable(OutputEvent event) {
+        return event instanceof RenderableOutputEvent || event instanceof ProgressStartEvent || event instanceof ProgressEvent || event instanceof ProgressCompleteEvent;
+    }
+}
@@ -55,6 +55,7 @@
 import javax.annotation.Nullable;
 import java.io.OutputStream;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * A {@link OutputEventListener} implementation which renders output events to various
@@ -62,11 +63,12 @@
  */
 @ThreadSafe
 public class OutputEventRenderer implements OutputEventListener, LoggingRouter {
-    private final Object lock = new Object();
+    private final ReentrantLock lock = new ReentrantLock();
     private final AtomicReference<LogLevel> logLevel = new AtomicReference<LogLevel>(LogLevel.LIFECYCLE);
     private final Clock clock;
     private final ListenerBroadcast<OutputEventListener> formatters = new ListenerBroadcast<OutputEventListener>(OutputEventListener.class);
-    private final OutputEventTransformer transformer = new OutputEventTransformer(formatters.getSource(), lock);
+    private final CombiningOutputEventListener dispatcher = new CombiningOutputEventListener(formatters.getSource(), lock);
+    private final OutputEventTransformer transformer = new OutputEventTransformer(dispatcher);
 
     private ColorMap colourMap;
     private OutputStream originalStdOut;
@@ -84,15 +86,19 @@ public OutputEventRenderer(final Clock clock) {
 
     @Override
     public Snapshot snapshot() {
-        synchronized (lock) {
+        lock.lock();
+        try {
             // Currently only snapshot the console output listener. Should snapshot all output listeners, and cleanup in restore()
             return new SnapshotImpl(logLevel.get(), console);
+        } finally {
+            dispatcher.unlock();
         }
     }
 
     @Override
     public void restore(Snapshot state) {
-        synchronized (lock) {
+        lock.lock();
+        try {
             SnapshotImpl snapshot = (SnapshotImpl) state;
             if (snapshot.logLevel != logLevel.get()) {
                 configure(snapshot.logLevel);
@@ -107,6 +113,8 @@ public void restore(Snapshot state) {
                     throw new UnsupportedOperationException("Cannot restore previous console. This is not implemented yet.");
                 }
             }
+        } finally {
+            dispatcher.unlock();
         }
     }
 
@@ -121,10 +129,13 @@ private void removeChain(OutputEventListener listener) {
     }
 
     public ColorMap getColourMap() {
-        synchronized (lock) {
+        lock.lock();
+        try {
             if (colourMap == null) {
                 colourMap = new DefaultColorMap();
             }
+        } finally {
+            dispatcher.unlock();
         }
         return colourMap;
     }
@@ -144,8 +155,11 @@ public OutputStream getOriginalStdErr() {
 
     @Override
     public void attachProcessConsole(ConsoleOutput consoleOutput) {
-        synchronized (lock) {
+        lock.lock();
+        try {
             ConsoleConfigureAction.execute(this, consoleOutput);
+        } finally {
+            dispatcher.unlock();
         }
     }
 
@@ -156,11 +170,14 @@ public void attachConsole(OutputStream outputStream, OutputStream errorStream, C
 
     @Override
     public void attachConsole(OutputStream outputStream, OutputStream errorStream, ConsoleOutput consoleOutput, @Nullable ConsoleMetaData consoleMetadata) {
-        synchronized (lock) {
+        lock.lock();
+        try {
             if (consoleMetadata == null) {
                 consoleMetadata = FallbackConsoleMetaData.NOT_ATTACHED;
             }
             ConsoleConfigureAction.execute(this, consoleOutput, consoleMetadata, outputStream, errorStream);
+        } finally {
+            dispatcher.unlock();
         }
     }
 
@@ -171,7 +188,8 @@ public void attachSystemOutAndErr() {
     }
 
     private void addSystemOutAsLoggingDestination() {
-        synchronized (lock) {
+        lock.lock();
+        try {
             originalStdOut = System.out;
             if (stdOutListener != null) {
                 removeChain(stdOutListener);
@@ -183,11 +201,14 @@ public OutputEventListener create() {
                 }
             });
             addChain(stdOutListener);
+        } finally {
+            dispatcher.unlock();
         }
     }
 
     private void addSystemErrAsLoggingDestination() {
-        synchronized (lock) {
+        lock.lock();
+        try {
             originalStdErr = System.err;
             if (stdErrListener != null) {
                 removeChain(stdErrListener);
@@ -199,38 +220,52 @@ public OutputEventListener create() {
                 }
             });
             addChain(stdErrListener);
+        } finally {
+            dispatcher.unlock();
         }
     }
 
     private void removeSystemOutAsLoggingDestination() {
-        synchronized (lock) {
+        lock.lock();
+        try {
             if (stdOutListener != null) {
                 removeChain(stdOutListener);
                 stdOutListener = null;
             }
+        } finally {
+            dispatcher.unlock();
         }
     }
 
     private void removeSystemErrAsLoggingDestination() {
-        synchronized (lock) {
+        lock.lock();
+        try {
             if (stdErrListener != null) {
                 removeChain(stdErrListener);
                 stdErrListener = null;
             }
+        } finally {
+            dispatcher.unlock();
         }
     }
 
     @Override
     public void addOutputEventListener(OutputEventListener listener) {
-        synchronized (lock) {
+        lock.lock();
+        try {
             addChain(listener);
+        } finally {
+            dispatcher.unlock();
         }
     }
 
     @Override
     public void removeOutputEventListener(OutputEventListener listener) {
-        synchronized (lock) {
+        lock.lock();
+        try {
             removeChain(listener);
+        } finally {
+            dispatcher.unlock();
         }
     }
 
@@ -311,11 +346,14 @@ private OutputEventListener throttled(OutputEventListener consoleChain) {
     }
 
     private OutputEventRenderer addConsoleChain(OutputEventListener consoleChain) {
-        synchronized (lock) {
+        lock.lock();
+        try {
             this.console = consoleChain;
             removeSystemOutAsLoggingDestination();
             removeSystemErrAsLoggingDestination();
             addChain(this.console);
+        } finally {
+            dispatcher.unlock();
         }
         return this;
     }
@@ -333,7 +371,8 @@ public void enableUserStandardOutputListeners() {
         // Create all of the pipeline eagerly as soon as this is enabled, to track the state of build operations.
         // All of the pipelines do this, so should instead have a single stage that tracks this for all pipelines and that can replay the current state to new pipelines
         // Then, a pipeline can be added for each listener as required
-        synchronized (lock) {
+        lock.lock();
+        try {
             if (userStdoutListeners == null) {
                 userStdoutListeners = new ListenerBroadcast<StandardOutputListener>(StandardOutputListener.class);
                 userStderrListeners = new ListenerBroadcast<StandardOutputListener>(StandardOutputListener.class);
@@ -357,6 +396,8 @@ public void onOutput(OutputEvent event) {
                 );
                 addChain(userListenerChain);
             }
+        } finally {
+            dispatcher.unlock();
         }
     }
 
@@ -369,17 +410,23 @@ private void assertUserListenersEnabled() {
 
     @Override
     public void addStandardErrorListener(StandardOutputListener listener) {
-        synchronized (lock) {
+        lock.lock();
+        try {
             assertUserListenersEnabled();
             userStderrListeners.add(listener);
+        } finally {
+            dispatcher.unlock();
         }
     }
 
     @Override
     public void addStandardOutputListener(StandardOutputListener listener) {
-        synchronized (lock) {
+        lock.lock();
+        try {
             assertUserListenersEnabled();
             userStdoutListeners.add(listener);
+        } finally {
+            dispatcher.unlock();
         }
     }
 
@@ -395,17 +442,23 @@ public void addStandardErrorListener(OutputStream outputStream) {
 
     @Override
     public void removeStandardOutputListener(StandardOutputListener listener) {
-        synchronized (lock) {
+        lock.lock();
+        try {
             assertUserListenersEnabled();
             userStdoutListeners.remove(listener);
+        } finally {
+            dispatcher.unlock();
         }
     }
 
     @Override
     public void removeStandardErrorListener(StandardOutputListener listener) {
-        synchronized (lock) {
+        lock.lock();
+        try {
             assertUserListenersEnabled();
             userStderrListeners.remove(listener);
+        } finally {
+            dispatcher.unlock();
         }
     }
 
@@ -41,11 +41,9 @@ public class OutputEventTransformer implements OutputEventListener {
     private final Set<OperationIdentifier> forwarded = Collections.newSetFromMap(new ConcurrentHashMap<OperationIdentifier, Boolean>());
 
     private final OutputEventListener listener;
-    private final Object lock;
 
-    public OutputEventTransformer(OutputEventListener listener, Object lock) {
+    public OutputEventTransformer(OutputEventListener listener) {
         this.listener = listener;
-        this.lock = lock;
     }
 
     @Override
@@ -109,9 +107,7 @@ public void onOutput(OutputEvent event) {
         }
     }
     private void invokeListener(OutputEvent event) {
-        synchronized (lock) {
-            listener.onOutput(event);
-        }
+        listener.onOutput(event);
     }
 
 }
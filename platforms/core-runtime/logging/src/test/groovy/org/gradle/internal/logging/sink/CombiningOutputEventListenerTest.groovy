@@ -0,0 +1,133 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.internal.logging.sink
+
+import org.gradle.api.logging.LogLevel
+import org.gradle.internal.logging.events.FlushOutputEvent
+import org.gradle.internal.logging.events.LogEvent
+import org.gradle.internal.logging.events.OutputEvent
+import org.gradle.internal.logging.events.OutputEventListener
+import org.gradle.test.fixtures.concurrent.ConcurrentSpec
+
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.locks.ReentrantLock
+
+class CombiningOutputEventListenerTest extends ConcurrentSpec {
+    def lock = new ReentrantLock()
+    def forwarded = new CopyOnWriteArrayList<OutputEvent>()
+    def listener = new CombiningOutputEventListener({ OutputEvent event -> forwarded.add(event) } as OutputEventListener, lock)
+
+    def "forwards event when lock is not held"() {
+        def event1 = event("1")
+
+        when:
+        listener.onOutput(event1)
+
+        then:
+        forwarded == [event1]
+    }
+
+    def "forwards events queued by other threads when lock is released"() {
+        def event1 = event("1")
+        def event2 = event("2")
+
+        when:
+        lock.lock()
+        async {
+            start {
+                listener.onOutput(event1)
+                listener.onOutput(event2)
+            }
+        }
+
+        then:
+        forwarded.empty
+
+        when:
+        listener.unlock()
+
+        then:
+        forwarded == [event1, event2]
+    }
+
+    def "flush is forwarded before returning"() {
+        def event1 = event("1")
+        def flush = new FlushOutputEvent()
+
+        when:
+        async {
+            lock.lock()
+            start {
+                listener.onOutput(event1)
+                listener.onOutput(flush)
+                instant.flushed
+            }
+            thread.block()
+            instant.unlocking
+            listener.unlock()
+        }
+
+        then:
+        instant.flushed > instant.unlocking
+        forwarded == [event1, flush]
+    }
+
+    def "waits for the lock once too many events are queued"() {
+        def events = (0..CombiningOutputEventListener.MAX_QUEUED_EVENTS).collect { event(it as String) }
+
+        when:
+        async {
+            lock.lock()
+            start {
+                events.each { listener.onOutput(it) }
+                instant.produced
+            }
+            thread.block()
+            instant.unlocking
+            listener.unlock()
+        }
+
+        then:
+        instant.produced > instant.unlocking
+        forwarded == events
+    }
+
+    def "forwards events generated while forwarding another event immediately"() {
+        def event1 = event("1")
+        def event2 = event("2")
+        def nested = event("nested")
+        CombiningOutputEventListener listener
+        listener = new CombiningOutputEventListener({ OutputEvent event ->
+            forwarded.add(event)
+            if (event.is(event1)) {
+                listener.onOutput(nested)
+            }
+        } as OutputEventListener, lock)
+
+        when:
+        listener.onOutput(event1)
+        listener.onOutput(event2)
+
+        then:
+        forwarded == [event1, nested, event2]
+    }
+
+    private static LogEvent event(String text) {
+        return new LogEvent(0, "category", LogLevel.LIFECYCLE, text, null)
+    }
+}
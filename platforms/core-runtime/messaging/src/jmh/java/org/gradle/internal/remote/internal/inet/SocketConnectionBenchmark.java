@@ -0,0 +1,118 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.internal.remote.internal.inet;
+
+import org.gradle.api.Action;
+import org.gradle.internal.concurrent.DefaultExecutorFactory;
+import org.gradle.internal.concurrent.ManagedExecutor;
+import org.gradle.internal.id.UUIDGenerator;
+import org.gradle.internal.remote.internal.ConnectCompletion;
+import org.gradle.internal.remote.internal.ConnectionAcceptor;
+import org.gradle.internal.remote.internal.RemoteConnection;
+import org.gradle.internal.serialize.BaseSerializerFactory;
+import org.gradle.internal.serialize.Serializers;
+import org.gradle.internal.serialize.StatefulSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
+/**
+ * Measures the number of small messages per second that can be sent over a loopback {@link SocketConnection},
+ * which is the traffic pattern of test events and worker logging.
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@OperationsPerInvocation(SocketConnectionBenchmark.MESSAGES_PER_INVOCATION)
+public class SocketConnectionBenchmark {
+    static final int MESSAGES_PER_INVOCATION = 1000;
+
+    private static final StatefulSerializer<String> SERIALIZER = Serializers.stateful(BaseSerializerFactory.STRING_SERIALIZER);
+
+    @Param({"16", "256", "4096"})
+    int messageSize;
+
+    private DefaultExecutorFactory executorFactory;
+    private ManagedExecutor sender;
+    private ConnectionAcceptor acceptor;
+    private RemoteConnection<String> outgoing;
+    private RemoteConnection<String> incoming;
+    private String message;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        executorFactory = new DefaultExecutorFactory();
+        sender = executorFactory.create("benchmark sender");
+        final BlockingQueue<RemoteConnection<String>> accepted = new ArrayBlockingQueue<RemoteConnection<String>>(1);
+        acceptor = new TcpIncomingConnector(executorFactory, new InetAddressFactory(), new UUIDGenerator()).accept(new Action<ConnectCompletion>() {
+            @Override
+            public void execute(ConnectCompletion completion) {
+                accepted.add(completion.create(SERIALIZER));
+            }
+        }, false);
+        outgoing = new TcpOutgoingConnector().connect(acceptor.getAddress()).create(SERIALIZER);
+        incoming = accepted.take();
+
+        char[] chars = new char[messageSize];
+        Arrays.fill(chars, 'x');
+        message = new String(chars);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        outgoing.stop();
+        incoming.stop();
+        acceptor.stop();
+        sender.stop();
+        executorFactory.stop();
+    }
+
+    @Benchmark
+    public void sendAndReceive(Blackhole blackhole) throws Exception {
+        Future<?> sent = sender.submit(new Callable<Void>() {
+            @Override
+            public Void call() {
+                for (int i = 0; i < MESSAGES_PER_INVOCATION; i++) {
+                    outgoing.dispatch(message);
+                }
+                outgoing.flush();
+                return null;
+            }
+        });
+        for (int i = 0; i < MESSAGES_PER_INVOCATION; i++) {
+            blackhole.consume(incoming.receive());
+        }
+        sent.get();
+    }
+}
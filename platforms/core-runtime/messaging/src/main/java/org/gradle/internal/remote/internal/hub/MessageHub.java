@@ -47,6 +47,8 @@ public class MessageHub implements AsyncStoppable {
     private enum State {Running, Stopping, Stopped}
 
     private static final Discard DISCARD = new Discard();
+    // The number of batches of queued messages that are written to a connection before it is flushed
+    static final int MAX_BATCHES_PER_FLUSH = 64;
     private final ManagedExecutor workers;
     private final String displayName;
     private final Action<? super Throwable> errorHandler;
@@ -323,19 +325,32 @@ public void run() {
                         } finally {
                             lock.unlock();
                         }
-                        for (InterHubMessage message : messages) {
-                            try {
-                                connection.dispatch(message);
-                            } catch (RecoverableMessageIOException e) {
-                                addToIncoming(new StreamFailureMessage(e));
+                        // Keep writing while more messages are queued, so that a burst of messages is flushed to the connection once
+                        int batches = 0;
+                        while (!messages.isEmpty()) {
+                            for (InterHubMessage message : messages) {
+                                try {
+                                    connection.dispatch(message);
+                                } catch (RecoverableMessageIOException e) {
+                                    addToIncoming(new StreamFailureMessage(e));
+                                }
+                                if (message instanceof EndOfStream) {
+                                    connection.flush();
+                                    return;
+                                }
                             }
-                            if (message instanceof EndOfStream) {
-                                connection.flush();
-                                return;
+                            messages.clear();
+                            if (++batches == MAX_BATCHES_PER_FLUSH) {
+                                break;
+                            }
+                            lock.lock();
+                            try {
+                                queue.poll(messages);
+                            } finally {
+                                lock.unlock();
                             }
                         }
                         connection.flush();
-                        messages.clear();
                     }
                 } finally {
                     lock.lock();
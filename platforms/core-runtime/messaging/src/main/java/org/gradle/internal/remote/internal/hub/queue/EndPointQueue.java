@@ -56,6 +56,17 @@ public void take(Collection<InterHubMessage> drainTo) {
         queue.clear();
     }
 
+    /**
+     * Moves any messages that are available for this endpoint to the given collection, without waiting for new messages to arrive.
+     */
+    public void poll(Collection<InterHubMessage> drainTo) {
+        if (queue.isEmpty()) {
+            owner.poll(this);
+        }
+        drainTo.addAll(queue);
+        queue.clear();
+    }
+
     public void stop() {
         owner.stopped(this);
     }
@@ -53,6 +53,13 @@ void empty(EndPointQueue endPointQueue) {
         flush();
     }
 
+    void poll(EndPointQueue endPointQueue) {
+        // Join the end of the line, so that endpoints that are already waiting are still served first
+        waiting.add(endPointQueue);
+        flush();
+        waiting.remove(endPointQueue);
+    }
+
     void stopped(EndPointQueue queue) {
         waiting.remove(queue);
         endpoints.remove(queue);
@@ -152,6 +152,8 @@ public void close() throws IOException {
     }
 
     private static class SocketInputStream extends InputStream {
+        // Same size as the output buffer, so that a full write from the peer can be consumed with a single read
+        private static final int BUFFER_SIZE = 32 * 1024;
         private final Selector selector;
         private final ByteBuffer buffer;
         private final SocketChannel socket;
@@ -161,7 +163,7 @@ public SocketInputStream(SocketChannel socket) throws IOException {
             this.socket = socket;
             selector = Selector.open();
             socket.register(selector, SelectionKey.OP_READ);
-            buffer = ByteBuffer.allocateDirect(4096);
+            buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
             BufferCaster.cast(buffer).limit(0);
         }
 
@@ -181,28 +183,24 @@ public int read(byte[] dest, int offset, int max) throws IOException {
             }
 
             if (buffer.remaining() == 0) {
-                try {
-                    selector.select();
-                } catch (ClosedSelectorException e) {
-                    return -1;
-                }
                 if (!selector.isOpen()) {
                     return -1;
                 }
 
-                BufferCaster.cast(buffer).clear();
-                int nread;
-                try {
-                    nread = socket.read(buffer);
-                } catch (IOException e) {
-                    if (isEndOfStream(e)) {
-                        BufferCaster.cast(buffer).position(0);
-                        BufferCaster.cast(buffer).limit(0);
+                // Chatty protocols usually have more data pending by the time the previous buffer is consumed,
+                // so try a non-blocking read first and only wait on the selector when nothing is available
+                int nread = fillBuffer();
+                while (nread == 0) {
+                    try {
+                        selector.select();
+                    } catch (ClosedSelectorException e) {
                         return -1;
                     }
-                    throw e;
+                    if (!selector.isOpen()) {
+                        return -1;
+                    }
+                    nread = fillBuffer();
                 }
-                BufferCaster.cast(buffer).flip();
 
                 if (nread < 0) {
                     return -1;
@@ -214,6 +212,23 @@ public int read(byte[] dest, int offset, int max) throws IOException {
             return count;
         }
 
+        private int fillBuffer() throws IOException {
+            BufferCaster.cast(buffer).clear();
+            int nread;
+            try {
+                nread = socket.read(buffer);
+            } catch (IOException e) {
+                if (isEndOfStream(e)) {
+                    BufferCaster.cast(buffer).position(0);
+                    BufferCaster.cast(buffer).limit(0);
+                    return -1;
+                }
+                throw e;
+            }
+            BufferCaster.cast(buffer).flip();
+            return nread;
+        }
+
         @Override
         public void close() throws IOException {
             selector.close();
@@ -196,6 +196,78 @@ class MessageHubTest extends ConcurrentSpec {
         connection.stop()
     }
 
+    def "outgoing messages queued while dispatching to connection are flushed together"() {
+        def events = new CopyOnWriteArrayList()
+        RemoteConnection<InterHubMessage> outgoing = Mock()
+        def connection = new MockOutgoingConnection(outgoing)
+
+        given:
+        outgoing.dispatch({ it instanceof ChannelMessage }) >> { ChannelMessage message ->
+            if (message.payload == 0) {
+                thread.blockUntil.queued
+            }
+            events.add(message.payload)
+        }
+        outgoing.flush() >> {
+            events.add("flush")
+            instant.flushed
+        }
+
+        and:
+        hub.addConnection(connection)
+
+        when:
+        def dispatcher = hub.getOutgoing("channel", Long)
+        dispatcher.dispatch(0)
+        (1..9).each { dispatcher.dispatch(it) }
+        instant.queued
+        thread.blockUntil.flushed
+
+        then:
+        events == (0..9) + ["flush"]
+
+        cleanup:
+        connection.stop()
+    }
+
+    def "flushes connection after a bounded number of batches while outgoing messages keep arriving"() {
+        def count = MessageHub.MAX_BATCHES_PER_FLUSH * 3 + 8
+        def events = new CopyOnWriteArrayList()
+        RemoteConnection<InterHubMessage> outgoing = Mock()
+        def connection = new MockOutgoingConnection(outgoing)
+        def dispatcher = hub.getOutgoing("channel", Long)
+
+        given:
+        // Each message is only sent once the previous one has been written, so that each is polled from the queue on its own
+        outgoing.dispatch({ it instanceof ChannelMessage }) >> { ChannelMessage message ->
+            events.add(message.payload)
+            if (message.payload < count - 1) {
+                dispatcher.dispatch(message.payload + 1)
+            }
+        }
+        outgoing.flush() >> {
+            events.add("flush")
+            if (events[-2] == count - 1) {
+                instant.flushed
+            }
+        }
+
+        and:
+        hub.addConnection(connection)
+
+        when:
+        dispatcher.dispatch(0)
+        thread.blockUntil.flushed
+
+        then:
+        def batch = MessageHub.MAX_BATCHES_PER_FLUSH
+        events.findIndexValues { it == "flush" }.collect { events[(int) it - 1] } == [batch - 1, 2 * batch - 1, 3 * batch - 1, count - 1]
+        events.findAll { it != "flush" } == 0..<count
+
+        cleanup:
+        connection.stop()
+    }
+
     def "each outgoing message is dispatched to exactly one connection"() {
         def messages = new CopyOnWriteArrayList()
         RemoteConnection<InterHubMessage> outgoing = Mock()
@@ -126,6 +126,84 @@ class MultiEndPointQueueTest extends AbstractQueueTest {
         messages2 == [message]
     }
 
+    def "poll forwards queued unicast messages to polling endpoint"() {
+        given:
+        def message1 = unicast()
+        def message2 = unicast()
+        def endpoint1 = queue.newEndpoint()
+        def endpoint2 = queue.newEndpoint()
+
+        and:
+        queue.empty(endpoint1)
+        queue.dispatch(message1)
+        queue.dispatch(message2)
+
+        when:
+        def messages = []
+        endpoint2.poll(messages)
+
+        then:
+        messages == [message2]
+    }
+
+    def "poll does not wait when nothing is queued"() {
+        given:
+        def message = unicast()
+        def endpoint1 = queue.newEndpoint()
+        def endpoint2 = queue.newEndpoint()
+
+        when:
+        def messages = []
+        endpoint1.poll(messages)
+
+        then:
+        messages.empty
+
+        when:
+        queue.empty(endpoint2)
+        queue.dispatch(message)
+        endpoint2.take(messages)
+
+        then:
+        messages == [message]
+    }
+
+    def "poll does not take unicast messages ahead of waiting endpoints"() {
+        given:
+        def message1 = unicast()
+        def message2 = unicast()
+        def message3 = unicast()
+        def endpoint1 = queue.newEndpoint()
+        def endpoint2 = queue.newEndpoint()
+        def endpoint3 = queue.newEndpoint()
+
+        and:
+        queue.empty(endpoint1)
+        queue.empty(endpoint2)
+
+        when:
+        def polled = []
+        endpoint3.poll(polled)
+        queue.dispatch(message1)
+        queue.dispatch(message2)
+        def messages1 = []
+        endpoint1.take(messages1)
+        def messages2 = []
+        endpoint2.take(messages2)
+
+        then:
+        polled.empty
+        messages1 == [message1]
+        messages2 == [message2]
+
+        when:
+        queue.dispatch(message3)
+        endpoint3.poll(polled)
+
+        then:
+        polled == [message3]
+    }
+
     def "buffers messages when there are no endpoints"() {
         given:
         def message1 = broadcast()
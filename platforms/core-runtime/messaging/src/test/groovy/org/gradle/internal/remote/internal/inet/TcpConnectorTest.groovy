@@ -223,6 +223,29 @@ class TcpConnectorTest extends ConcurrentSpec {
         acceptor?.stop()
     }
 
+    def "can receive many messages larger than the read buffer"() {
+        def message = "x" * 100000
+
+        when:
+        def acceptor = incomingConnector.accept({ ConnectCompletion event ->
+            def conn = event.create(serializer)
+            10.times { conn.dispatch(message) }
+            conn.stop()
+            instant.closed
+        } as Action, false)
+
+        def connection = outgoingConnector.connect(acceptor.address).create(serializer)
+        def received = (1..10).collect { connection.receive() }
+
+        then:
+        received.every { it == message }
+        connection.receive() == null
+
+        cleanup:
+        connection?.stop()
+        acceptor?.stop()
+    }
+
     def "returns null on failure to receive due to truncated input"() {
         given:
         def incomingSerializer = { Encoder encoder, String value ->
@@ -34,7 +34,6 @@
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.RandomAccessFile;
-import java.io.UnsupportedEncodingException;
 import java.nio.charset.Charset;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -43,6 +42,7 @@ public class TestOutputStore {
 
     private final File resultsDir;
     private final Charset messageStorageCharset;
+    private Index sharedIndex;
 
     public TestOutputStore(File resultsDir) {
         this.resultsDir = resultsDir;
@@ -176,6 +176,9 @@ private void writeIndex() {
     }
 
     public Writer writer() {
+        synchronized (this) {
+            sharedIndex = null;
+        }
         return new Writer();
     }
 
@@ -225,9 +228,55 @@ Index build() {
         }
     }
 
+    /**
+     * Returns the index of the outputs file, which is parsed once and shared by all readers.
+     * Readers are typically opened by each thread rendering a test report, and the index can be large for test tasks with many tests.
+     */
+    private synchronized Index getSharedIndex() {
+        if (sharedIndex == null) {
+            sharedIndex = readIndex();
+        }
+        return sharedIndex;
+    }
+
+    private Index readIndex() {
+        Input input;
+        try {
+            input = new Input(new FileInputStream(getIndexFile()));
+        } catch (FileNotFoundException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        IndexBuilder rootBuilder;
+        try {
+            int numClasses = input.readInt(true);
+            rootBuilder = new IndexBuilder();
+
+            for (int classCounter = 0; classCounter < numClasses; ++classCounter) {
+                long classId = input.readLong(true);
+                IndexBuilder classBuilder = new IndexBuilder();
+
+                int numEntries = input.readInt(true);
+                for (int entryCounter = 0; entryCounter < numEntries; ++entryCounter) {
+                    long testId = input.readLong(true);
+                    Region stdOut = new Region(input.readLong(), input.readLong());
+                    Region stdErr = new Region(input.readLong(), input.readLong());
+                    classBuilder.add(testId, new Index(stdOut, stdErr));
+                }
+
+                rootBuilder.add(classId, classBuilder.build());
+            }
+        } finally {
+            input.close();
+        }
+
+        return rootBuilder.build();
+    }
+
     public class Reader implements Closeable {
         private final Index index;
         private final RandomAccessFile dataFile;
+        private byte[] messageBuffer = new byte[0];
 
         public Reader() {
             File indexFile = getIndexFile();
@@ -238,37 +287,7 @@ public Reader() {
                     throw new IllegalStateException(String.format("Test outputs data file '%s' exists but the index file '%s' does not", outputsFile, indexFile));
                 }
 
-                Input input;
-                try {
-                    input = new Input(new FileInputStream(indexFile));
-                } catch (FileNotFoundException e) {
-                    throw new UncheckedIOException(e);
-                }
-
-                IndexBuilder rootBuilder = null;
-                try {
-                    int numClasses = input.readInt(true);
-                    rootBuilder = new IndexBuilder();
-
-                    for (int classCounter = 0; classCounter < numClasses; ++classCounter) {
-                        long classId = input.readLong(true);
-                        IndexBuilder classBuilder = new IndexBuilder();
-
-                        int numEntries = input.readInt(true);
-                        for (int entryCounter = 0; entryCounter < numEntries; ++entryCounter) {
-                            long testId = input.readLong(true);
-                            Region stdOut = new Region(input.readLong(), input.readLong());
-                            Region stdErr = new Region(input.readLong(), input.readLong());
-                            classBuilder.add(testId, new Index(stdOut, stdErr));
-                        }
-
-                        rootBuilder.add(classId, classBuilder.build());
-                    }
-                } finally {
-                    input.close();
-                }
-
-                index = rootBuilder.build();
+                index = getSharedIndex();
 
                 try {
                     dataFile = new RandomAccessFile(getOutputsFile(), "r");
@@ -370,17 +389,12 @@ private void doRead(long classId, long testId, boolean allClassOutput, TestOutpu
                     }
 
                     if (testId == 0 || testId == readTestId) {
-                        byte[] stringBytes = new byte[readLength];
-                        decoder.readBytes(stringBytes);
-                        String message;
-                        try {
-                            message = new String(stringBytes, messageStorageCharset.name());
-                        } catch (UnsupportedEncodingException e) {
-                            // shouldn't happen
-                            throw UncheckedException.throwAsUncheckedException(e);
+                        // Reuse the buffer across messages, a reader is only used by a single thread
+                        if (messageBuffer.length < readLength) {
+                            messageBuffer = new byte[readLength];
                         }
-
-                        writer.write(message);
+                        decoder.readBytes(messageBuffer, 0, readLength);
+                        writer.write(new String(messageBuffer, 0, readLength, messageStorageCharset));
                     } else {
                         decoder.skipBytes(readLength);
                     }
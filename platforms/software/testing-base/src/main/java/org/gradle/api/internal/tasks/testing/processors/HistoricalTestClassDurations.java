@@ -0,0 +1,63 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.testing.processors;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Durations of test classes recorded by a previous execution of a test task, used to estimate how long each test class will take.
+ */
+public class HistoricalTestClassDurations {
+    private static final HistoricalTestClassDurations NONE = new HistoricalTestClassDurations(Collections.<String, Long>emptyMap());
+
+    private final Map<String, Long> durations;
+    private final long defaultDuration;
+
+    public HistoricalTestClassDurations(Map<String, Long> durations) {
+        this.durations = durations;
+        this.defaultDuration = average(durations);
+    }
+
+    public static HistoricalTestClassDurations none() {
+        return NONE;
+    }
+
+    public boolean isEmpty() {
+        return durations.isEmpty();
+    }
+
+    /**
+     * Returns the estimated duration of the given test class in milliseconds.
+     * Classes without history, such as newly added ones, are assumed to take the average duration.
+     */
+    public long estimate(String testClassName) {
+        Long duration = durations.get(testClassName);
+        return duration != null ? duration : defaultDuration;
+    }
+
+    private static long average(Map<String, Long> durations) {
+        if (durations.isEmpty()) {
+            return 0;
+        }
+        long total = 0;
+        for (Long duration : durations.values()) {
+            total += duration;
+        }
+        return total / durations.size();
+    }
+}
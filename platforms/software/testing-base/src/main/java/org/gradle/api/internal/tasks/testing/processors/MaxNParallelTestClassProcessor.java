@@ -30,13 +30,16 @@
 import java.util.List;
 
 /**
- * Manages a set of parallel TestClassProcessors. Uses a simple round-robin algorithm to assign test classes to
- * processors.
+ * Manages a set of parallel TestClassProcessors. When durations of test classes from a previous run are known, each test class
+ * is assigned to the processor with the smallest estimated amount of work. Otherwise, uses a simple round-robin algorithm to
+ * assign test classes to processors.
  */
 public class MaxNParallelTestClassProcessor implements TestClassProcessor {
     private final int maxProcessors;
     private final Factory<TestClassProcessor> factory;
     private final ActorFactory actorFactory;
+    private final HistoricalTestClassDurations durations;
+    private final long[] estimatedWork;
     private TestResultProcessor resultProcessor;
     private int pos;
     private List<TestClassProcessor> processors = new ArrayList<TestClassProcessor>();
@@ -46,9 +49,15 @@ public class MaxNParallelTestClassProcessor implements TestClassProcessor {
     private volatile boolean stoppedNow;
 
     public MaxNParallelTestClassProcessor(int maxProcessors, Factory<TestClassProcessor> factory, ActorFactory actorFactory) {
+        this(maxProcessors, factory, actorFactory, HistoricalTestClassDurations.none());
+    }
+
+    public MaxNParallelTestClassProcessor(int maxProcessors, Factory<TestClassProcessor> factory, ActorFactory actorFactory, HistoricalTestClassDurations durations) {
         this.maxProcessors = maxProcessors;
         this.factory = factory;
         this.actorFactory = actorFactory;
+        this.durations = durations;
+        this.estimatedWork = new long[maxProcessors];
     }
 
     @Override
@@ -64,20 +73,34 @@ public void processTestClass(TestClassRunInfo testClass) {
             return;
         }
 
-        TestClassProcessor processor;
+        int index;
         if (processors.size() < maxProcessors) {
-            processor = factory.create();
+            TestClassProcessor processor = factory.create();
             rawProcessors.add(processor);
             Actor actor = actorFactory.createActor(processor);
             processor = actor.getProxy(TestClassProcessor.class);
             actors.add(actor);
             processors.add(processor);
             processor.startProcessing(resultProcessor);
-        } else {
-            processor = processors.get(pos);
+            index = processors.size() - 1;
+        } else if (durations.isEmpty()) {
+            index = pos;
             pos = (pos + 1) % processors.size();
+        } else {
+            index = leastBusyProcessor();
+        }
+        estimatedWork[index] += durations.estimate(testClass.getTestClassName());
+        processors.get(index).processTestClass(testClass);
+    }
+
+    private int leastBusyProcessor() {
+        int index = 0;
+        for (int i = 1; i < processors.size(); i++) {
+            if (estimatedWork[i] < estimatedWork[index]) {
+                index = i;
+            }
         }
-        processor.processTestClass(testClass);
+        return index;
     }
 
     @Override
@@ -37,6 +37,13 @@
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * Runs test classes in a forked worker process, which is started when the first test class is received.
+ *
+ * <p>A worker process is never shared with another {@code Test} task: the test runtime classpath is the application classpath of the
+ * worker JVM, and tests are free to mutate JVM-wide state such as system properties, static fields or the security manager,
+ * so a worker cannot be reset to a clean state for a different task.</p>
+ */
 public class ForkingTestClassProcessor implements TestClassProcessor {
     private final WorkerProcessFactory workerFactory;
     private final WorkerTestClassProcessorFactory processorFactory;
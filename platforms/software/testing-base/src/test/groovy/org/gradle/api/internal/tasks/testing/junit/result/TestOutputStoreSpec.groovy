@@ -145,6 +145,45 @@ class TestOutputStoreSpec extends WorkspaceTest {
         reader.close()
     }
 
+    def "readers opened concurrently share the index and see all output"() {
+        when:
+        def writer = output.writer()
+        writer.onOutput(1, 1, output(StdOut, "[short]"))
+        writer.onOutput(1, 1, output(StdOut, "[" + "x" * 10000 + "]"))
+        writer.onOutput(1, 1, output(StdOut, "[short-again]"))
+        writer.close()
+        def reader1 = output.reader()
+        def reader2 = output.reader()
+
+        then:
+        collectOutput(reader1, 1, 1, StdOut) == "[short][" + "x" * 10000 + "][short-again]"
+        collectOutput(reader2, 1, 1, StdOut) == collectOutput(reader1, 1, 1, StdOut)
+
+        cleanup:
+        reader1.close()
+        reader2.close()
+    }
+
+    def "reader sees output of a new writer"() {
+        when:
+        def writer = output.writer()
+        writer.onOutput(1, 1, output(StdOut, "[first]"))
+        writer.close()
+        output.reader().close()
+
+        writer = output.writer()
+        writer.onOutput(2, 1, output(StdOut, "[second]"))
+        writer.close()
+        def reader = output.reader()
+
+        then:
+        collectOutput(reader, 2, 1, StdOut) == "[second]"
+        collectOutput(reader, 1, 1, StdOut) == ""
+
+        cleanup:
+        reader.close()
+    }
+
     def "can open empty reader"() {
         // neither file
         expect:
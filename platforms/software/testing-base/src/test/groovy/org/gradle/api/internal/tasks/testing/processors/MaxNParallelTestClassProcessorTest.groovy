@@ -202,4 +202,39 @@ class MaxNParallelTestClassProcessorTest extends Specification {
         1 * processor1.stopNow()
         1 * processor2.stopNow()
     }
+
+    def assignsTestClassesToLeastBusyProcessorWhenDurationsAreKnown() {
+        def durations = new HistoricalTestClassDurations([Slow: 100L, Fast1: 10L, Fast2: 10L, Fast3: 10L])
+        def processor = new MaxNParallelTestClassProcessor(2, factory, actorFactory, durations)
+        TestClassProcessor processor1 = Mock()
+        TestClassProcessor processor2 = Mock()
+        TestClassProcessor asyncProcessor1 = Mock()
+        TestClassProcessor asyncProcessor2 = Mock()
+        Actor actor1 = Mock()
+        Actor actor2 = Mock()
+
+        1 * actorFactory.createActor(resultProcessor) >> resultProcessorActor
+        1 * resultProcessorActor.getProxy(TestResultProcessor) >> asyncResultProcessor
+        processor.startProcessing(resultProcessor)
+
+        when:
+        ['Slow', 'Fast1', 'Fast2', 'Fast3'].each { processor.processTestClass(testClass(it)) }
+
+        then:
+        1 * factory.create() >> processor1
+        1 * actorFactory.createActor(processor1) >> actor1
+        1 * actor1.getProxy(TestClassProcessor) >> asyncProcessor1
+        1 * factory.create() >> processor2
+        1 * actorFactory.createActor(processor2) >> actor2
+        1 * actor2.getProxy(TestClassProcessor) >> asyncProcessor2
+        1 * asyncProcessor1.processTestClass({ it.testClassName == 'Slow' })
+        0 * asyncProcessor1.processTestClass(_)
+        3 * asyncProcessor2.processTestClass(_)
+    }
+
+    private TestClassRunInfo testClass(String name) {
+        return Stub(TestClassRunInfo) {
+            getTestClassName() >> name
+        }
+    }
 }
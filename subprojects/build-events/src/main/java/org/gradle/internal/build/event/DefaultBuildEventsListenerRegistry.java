@@ -27,13 +27,13 @@
 import org.gradle.build.event.BuildEventsListenerRegistry;
 import org.gradle.initialization.BuildEventConsumer;
 import org.gradle.internal.Cast;
-import org.gradle.internal.Pair;
 import org.gradle.internal.UncheckedException;
 import org.gradle.internal.build.event.types.DefaultTaskFinishedProgressEvent;
 import org.gradle.internal.concurrent.CompositeStoppable;
 import org.gradle.internal.concurrent.ExecutorFactory;
 import org.gradle.internal.concurrent.ManagedExecutor;
 import org.gradle.internal.event.ListenerManager;
+import org.gradle.internal.operations.AsynchronousBuildOperationListener;
 import org.gradle.internal.operations.BuildOperationDescriptor;
 import org.gradle.internal.operations.BuildOperationListener;
 import org.gradle.internal.operations.BuildOperationListenerManager;
@@ -66,7 +66,7 @@ public class DefaultBuildEventsListenerRegistry implements BuildEventsListenerRe
     private final BuildEventListenerFactory factory;
     private final ListenerManager listenerManager;
     private final BuildOperationListenerManager buildOperationListenerManager;
-    private final Map<Provider<?>, AbstractListener<?>> subscriptions = new LinkedHashMap<>();
+    private final Map<Provider<?>, Closeable> subscriptions = new LinkedHashMap<>();
     private final List<Object> listeners = new ArrayList<>();
     private final ExecutorFactory executorFactory;
 
@@ -104,7 +104,7 @@ public void onOperationCompletion(Provider<? extends BuildOperationListener> lis
             return;
         }
 
-        ForwardingBuildOperationListener subscription = new ForwardingBuildOperationListener(listenerProvider, executorFactory);
+        ForwardingBuildOperationListener subscription = new ForwardingBuildOperationListener(listenerProvider);
         keepAliveIfBuildService(listenerProvider);
         subscriptions.put(listenerProvider, subscription);
         buildOperationListenerManager.addListener(subscription);
@@ -208,11 +208,14 @@ public void close() {
         }
     }
 
-    private static class ForwardingBuildOperationListener extends AbstractListener<Pair<BuildOperationDescriptor, OperationFinishEvent>> implements BuildOperationListener {
+    /**
+     * Forwards finish notifications to the listener. The listener is notified asynchronously by {@link BuildOperationListenerManager}, so no thread is required here.
+     */
+    private static class ForwardingBuildOperationListener implements AsynchronousBuildOperationListener, Closeable {
         private final Provider<? extends BuildOperationListener> listenerProvider;
+        private final AtomicReference<Exception> failure = new AtomicReference<>();
 
-        public ForwardingBuildOperationListener(Provider<? extends BuildOperationListener> listenerProvider, ExecutorFactory executorFactory) {
-            super(executorFactory);
+        public ForwardingBuildOperationListener(Provider<? extends BuildOperationListener> listenerProvider) {
             this.listenerProvider = listenerProvider;
         }
 
@@ -226,12 +229,23 @@ public void progress(OperationIdentifier operationIdentifier, OperationProgressE
 
         @Override
         public void finished(BuildOperationDescriptor buildOperation, OperationFinishEvent finishEvent) {
-            queue(Pair.of(buildOperation, finishEvent));
+            if (failure.get() != null) {
+                // The listener has failed, so discard the notification
+                return;
+            }
+            try {
+                listenerProvider.get().finished(buildOperation, finishEvent);
+            } catch (Exception e) {
+                failure.set(e);
+            }
         }
 
         @Override
-        protected void handle(Pair<BuildOperationDescriptor, OperationFinishEvent> message) {
-            listenerProvider.get().finished(message.left, message.right);
+        public void close() {
+            Exception failure = this.failure.get();
+            if (failure != null) {
+                throw UncheckedException.throwAsUncheckedException(failure);
+            }
         }
     }
 
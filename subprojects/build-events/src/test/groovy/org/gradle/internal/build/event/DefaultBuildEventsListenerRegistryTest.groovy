@@ -45,7 +45,7 @@ import org.gradle.tooling.events.task.TaskSuccessResult
 class DefaultBuildEventsListenerRegistryTest extends ConcurrentSpec {
     def factory = new MockBuildEventListenerFactory()
     def listenerManager = new DefaultListenerManager(Scopes.Build)
-    def buildOperationListenerManager = new DefaultBuildOperationListenerManager()
+    def buildOperationListenerManager = new DefaultBuildOperationListenerManager(executor)
     def gradle = Stub(GradleInternal) {
         isRootBuild() >> true
     }
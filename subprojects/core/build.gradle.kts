@@ -1,5 +1,6 @@
 plugins {
     id("gradlebuild.distribution.api-java")
+    id("gradlebuild.jmh")
 }
 
 description = "Public and internal 'core' Gradle APIs with implementation"
@@ -220,6 +221,9 @@ dependencies {
     testInterceptorsImplementation(platform(project(":distributions-dependencies")))
     "testInterceptorsAnnotationProcessor"(project(":internal-instrumentation-processor"))
     "testInterceptorsAnnotationProcessor"(platform(project(":distributions-dependencies")))
+
+    jmhImplementation(project(":base-annotations"))
+    jmhImplementation(project(":messaging"))
 }
 
 strictCompile {
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.cache.internal;
+
+import org.gradle.internal.event.DefaultListenerManager;
+import org.gradle.internal.service.scopes.Scopes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Measures many threads reading from a {@link CrossBuildInMemoryCache}, either hitting keys that are already in the cache or creating entries for new keys.
+ */
+@Fork(1)
+@Threads(8)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class CrossBuildInMemoryCacheBenchmark {
+
+    private static final Function<Object, Object> FACTORY = key -> new Object();
+
+    @Param({"16", "1024"})
+    int warmKeyCount;
+
+    private CrossBuildInMemoryCache<Object, Object> cache;
+    private Object[] warmKeys;
+    private final AtomicInteger nextColdKey = new AtomicInteger();
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        cache = new DefaultCrossBuildInMemoryCacheFactory(new DefaultListenerManager(Scopes.BuildSession.class)).newCache();
+        warmKeys = new Object[warmKeyCount];
+        for (int i = 0; i < warmKeyCount; i++) {
+            warmKeys[i] = "warm-" + i;
+            cache.get(warmKeys[i], FACTORY);
+        }
+    }
+
+    @Benchmark
+    public Object warmKeys() {
+        return cache.get(warmKeys[ThreadLocalRandom.current().nextInt(warmKeyCount)], FACTORY);
+    }
+
+    @Benchmark
+    public Object coldKeys() {
+        return cache.get(nextColdKey.incrementAndGet(), FACTORY);
+    }
+}
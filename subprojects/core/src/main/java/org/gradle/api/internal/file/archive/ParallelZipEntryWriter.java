@@ -0,0 +1,200 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.api.internal.file.archive;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.gradle.api.GradleException;
+import org.gradle.api.UncheckedIOException;
+import org.gradle.api.file.FileCopyDetails;
+
+import javax.annotation.Nullable;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Adds entries to a {@link ZipArchiveOutputStream}, deflating the content of entries concurrently.
+ * <p>
+ * The content of each entry is read on the calling thread, while visiting the copy spec, and deflated by the given {@link ZipEntryDeflater}.
+ * Entries are written to the archive in the order they were added, so the result does not depend on the number of threads.
+ * Entries larger than {@link #MAX_BUFFERED_ENTRY_SIZE} are streamed directly to the archive, and the amount of buffered content is bounded.
+ */
+class ParallelZipEntryWriter {
+    private static final int MAX_BUFFERED_ENTRY_SIZE = 1024 * 1024;
+    private static final long MAX_PENDING_BYTES = 64L * 1024 * 1024;
+
+    private final File zipFile;
+    private final ZipArchiveOutputStream zipOutStr;
+    private final ZipEntryDeflater deflater;
+    private final Deque<PendingEntry> pending = new ArrayDeque<>();
+    private long pendingBytes;
+
+    ParallelZipEntryWriter(File zipFile, ZipArchiveOutputStream zipOutStr, ZipEntryDeflater deflater) {
+        this.zipFile = zipFile;
+        this.zipOutStr = zipOutStr;
+        this.deflater = deflater;
+    }
+
+    public void addDirectory(ZipArchiveEntry archiveEntry, FileCopyDetails dirDetails) {
+        pending.add(new PendingEntry(archiveEntry, dirDetails, null, 0));
+    }
+
+    public void addFile(ZipArchiveEntry archiveEntry, FileCopyDetails fileDetails) {
+        EntryContent content = new EntryContent(archiveEntry);
+        try {
+            fileDetails.copyTo(content);
+            if (content.isStreaming()) {
+                zipOutStr.closeArchiveEntry();
+                return;
+            }
+        } catch (EntryFailure e) {
+            throw e;
+        } catch (Exception e) {
+            throw failure(fileDetails, e);
+        }
+
+        byte[] uncompressed = content.toByteArray();
+        pending.add(new PendingEntry(archiveEntry, fileDetails, deflater.deflate(uncompressed), uncompressed.length));
+        pendingBytes += uncompressed.length;
+        while (pendingBytes > MAX_PENDING_BYTES) {
+            writeNext();
+        }
+    }
+
+    /**
+     * Writes all pending entries to the archive.
+     */
+    public void finish() {
+        while (!pending.isEmpty()) {
+            writeNext();
+        }
+    }
+
+    /**
+     * Cancels the deflation of entries that have not been written to the archive, for example because adding another entry failed.
+     */
+    public void cancelPending() {
+        for (PendingEntry entry : pending) {
+            if (entry.deflation != null) {
+                entry.deflation.cancel();
+            }
+        }
+        pending.clear();
+        pendingBytes = 0;
+    }
+
+    private void writeNext() {
+        PendingEntry next = pending.removeFirst();
+        pendingBytes -= next.uncompressedSize;
+        try {
+            if (next.deflation == null) {
+                zipOutStr.putArchiveEntry(next.archiveEntry);
+                zipOutStr.closeArchiveEntry();
+            } else {
+                ZipEntryDeflater.DeflatedContent deflated = next.deflation.await();
+                next.archiveEntry.setMethod(ZipArchiveOutputStream.DEFLATED);
+                next.archiveEntry.setSize(next.uncompressedSize);
+                next.archiveEntry.setCompressedSize(deflated.getLength());
+                next.archiveEntry.setCrc(deflated.getCrc());
+                zipOutStr.addRawArchiveEntry(next.archiveEntry, new ByteArrayInputStream(deflated.getBytes(), 0, deflated.getLength()));
+            }
+        } catch (Exception e) {
+            throw failure(next.details, e);
+        }
+    }
+
+    private EntryFailure failure(FileCopyDetails details, Throwable cause) {
+        return new EntryFailure(String.format("Could not add %s to ZIP '%s'.", details, zipFile), cause);
+    }
+
+    private static class EntryFailure extends GradleException {
+        EntryFailure(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+
+    private static class PendingEntry {
+        final ZipArchiveEntry archiveEntry;
+        final FileCopyDetails details;
+        @Nullable
+        final ZipEntryDeflater.Deflation deflation;
+        final int uncompressedSize;
+
+        PendingEntry(ZipArchiveEntry archiveEntry, FileCopyDetails details, @Nullable ZipEntryDeflater.Deflation deflation, int uncompressedSize) {
+            this.archiveEntry = archiveEntry;
+            this.details = details;
+            this.deflation = deflation;
+            this.uncompressedSize = uncompressedSize;
+        }
+    }
+
+    /**
+     * Buffers the content of an entry, switching to streaming into the archive once the content gets too large.
+     */
+    private class EntryContent extends ByteArrayOutputStream {
+        private final ZipArchiveEntry archiveEntry;
+        private boolean streaming;
+
+        EntryContent(ZipArchiveEntry archiveEntry) {
+            this.archiveEntry = archiveEntry;
+        }
+
+        boolean isStreaming() {
+            return streaming;
+        }
+
+        @Override
+        public void write(int b) {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            if (!streaming && count + len > MAX_BUFFERED_ENTRY_SIZE) {
+                startStreaming();
+            }
+            if (streaming) {
+                try {
+                    zipOutStr.write(b, off, len);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            } else {
+                super.write(b, off, len);
+            }
+        }
+
+        private void startStreaming() {
+            finish();
+            try {
+                zipOutStr.putArchiveEntry(archiveEntry);
+                zipOutStr.write(buf, 0, count);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            streaming = true;
+            buf = new byte[0];
+            count = 0;
+        }
+    }
+}
@@ -32,6 +32,7 @@
 import org.gradle.api.tasks.bundling.Zip;
 import org.gradle.internal.IoActions;
 
+import javax.annotation.Nullable;
 import java.io.File;
 import java.util.Calendar;
 import java.util.GregorianCalendar;
@@ -59,13 +60,23 @@ public class ZipCopyAction implements CopyAction {
     private final DocumentationRegistry documentationRegistry;
     private final String encoding;
     private final boolean preserveFileTimestamps;
+    @Nullable
+    private final ZipEntryDeflater entryDeflater;
 
     public ZipCopyAction(File zipFile, ZipCompressor compressor, DocumentationRegistry documentationRegistry, String encoding, boolean preserveFileTimestamps) {
+        this(zipFile, compressor, documentationRegistry, encoding, preserveFileTimestamps, null);
+    }
+
+    /**
+     * Creates an action that deflates the entries of the archive using the given deflater, when the compressor allows it.
+     */
+    public ZipCopyAction(File zipFile, ZipCompressor compressor, DocumentationRegistry documentationRegistry, String encoding, boolean preserveFileTimestamps, @Nullable ZipEntryDeflater entryDeflater) {
         this.zipFile = zipFile;
         this.compressor = compressor;
         this.documentationRegistry = documentationRegistry;
         this.encoding = encoding;
         this.preserveFileTimestamps = preserveFileTimestamps;
+        this.entryDeflater = entryDeflater;
     }
 
     @Override
@@ -80,7 +91,17 @@ public WorkResult execute(final CopyActionProcessingStream stream) {
 
         try {
             IoActions.withResource(zipOutStr, outputStream -> {
-                stream.process(new StreamAction(outputStream, encoding));
+                if (entryDeflater != null && entryDeflater.isParallel() && compressor.canAddPreDeflatedEntries()) {
+                    ParallelZipEntryWriter entryWriter = new ParallelZipEntryWriter(zipFile, outputStream, entryDeflater);
+                    try {
+                        stream.process(new StreamAction(outputStream, encoding, entryWriter));
+                        entryWriter.finish();
+                    } finally {
+                        entryWriter.cancelPending();
+                    }
+                } else {
+                    stream.process(new StreamAction(outputStream, encoding, null));
+                }
             });
         } catch (Exception e) {
             if (e.getCause() instanceof Zip64RequiredException) {
@@ -97,9 +118,12 @@ public WorkResult execute(final CopyActionProcessingStream stream) {
 
     private class StreamAction implements CopyActionProcessingStreamAction {
         private final ZipArchiveOutputStream zipOutStr;
+        @Nullable
+        private final ParallelZipEntryWriter entryWriter;
 
-        public StreamAction(ZipArchiveOutputStream zipOutStr, String encoding) {
+        public StreamAction(ZipArchiveOutputStream zipOutStr, String encoding, @Nullable ParallelZipEntryWriter entryWriter) {
             this.zipOutStr = zipOutStr;
+            this.entryWriter = entryWriter;
             if (encoding != null) {
                 this.zipOutStr.setEncoding(encoding);
             }
@@ -115,10 +139,12 @@ public void processFile(FileCopyDetailsInternal details) {
         }
 
         private void visitFile(FileCopyDetails fileDetails) {
+            if (entryWriter != null) {
+                entryWriter.addFile(fileEntryFor(fileDetails), fileDetails);
+                return;
+            }
             try {
-                ZipArchiveEntry archiveEntry = new ZipArchiveEntry(fileDetails.getRelativePath().getPathString());
-                archiveEntry.setTime(getArchiveTimeFor(fileDetails));
-                archiveEntry.setUnixMode(UnixStat.FILE_FLAG | fileDetails.getPermissions().toUnixNumeric());
+                ZipArchiveEntry archiveEntry = fileEntryFor(fileDetails);
                 zipOutStr.putArchiveEntry(archiveEntry);
                 fileDetails.copyTo(zipOutStr);
                 zipOutStr.closeArchiveEntry();
@@ -128,11 +154,12 @@ private void visitFile(FileCopyDetails fileDetails) {
         }
 
         private void visitDir(FileCopyDetails dirDetails) {
+            if (entryWriter != null) {
+                entryWriter.addDirectory(dirEntryFor(dirDetails), dirDetails);
+                return;
+            }
             try {
-                // Trailing slash in name indicates that entry is a directory
-                ZipArchiveEntry archiveEntry = new ZipArchiveEntry(dirDetails.getRelativePath().getPathString() + '/');
-                archiveEntry.setTime(getArchiveTimeFor(dirDetails));
-                archiveEntry.setUnixMode(UnixStat.DIR_FLAG | dirDetails.getPermissions().toUnixNumeric());
+                ZipArchiveEntry archiveEntry = dirEntryFor(dirDetails);
                 zipOutStr.putArchiveEntry(archiveEntry);
                 zipOutStr.closeArchiveEntry();
             } catch (Exception e) {
@@ -141,6 +168,21 @@ private void visitDir(FileCopyDetails dirDetails) {
         }
     }
 
+    private ZipArchiveEntry fileEntryFor(FileCopyDetails fileDetails) {
+        ZipArchiveEntry archiveEntry = new ZipArchiveEntry(fileDetails.getRelativePath().getPathString());
+        archiveEntry.setTime(getArchiveTimeFor(fileDetails));
+        archiveEntry.setUnixMode(UnixStat.FILE_FLAG | fileDetails.getPermissions().toUnixNumeric());
+        return archiveEntry;
+    }
+
+    private ZipArchiveEntry dirEntryFor(FileCopyDetails dirDetails) {
+        // Trailing slash in name indicates that entry is a directory
+        ZipArchiveEntry archiveEntry = new ZipArchiveEntry(dirDetails.getRelativePath().getPathString() + '/');
+        archiveEntry.setTime(getArchiveTimeFor(dirDetails));
+        archiveEntry.setUnixMode(UnixStat.DIR_FLAG | dirDetails.getPermissions().toUnixNumeric());
+        return archiveEntry;
+    }
+
     private long getArchiveTimeFor(FileCopyDetails details) {
         return preserveFileTimestamps ? details.getLastModified() : CONSTANT_TIME_FOR_ZIP_ENTRIES;
     }
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.file.archive;
+
+import org.gradle.concurrent.ParallelismConfiguration;
+import org.gradle.internal.UncheckedException;
+import org.gradle.internal.concurrent.ExecutorFactory;
+import org.gradle.internal.concurrent.Stoppable;
+import org.gradle.internal.service.scopes.Scopes;
+import org.gradle.internal.service.scopes.ServiceScope;
+import org.gradle.internal.work.ConditionalExecution;
+import org.gradle.internal.work.ConditionalExecutionQueue;
+import org.gradle.internal.work.DefaultConditionalExecutionQueue;
+import org.gradle.internal.work.WorkerLeaseService;
+
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Deflates the content of ZIP entries on worker threads, for all archives of the build session.
+ * <p>
+ * Each deflation holds a worker lease while it runs, so archive tasks share the max worker count with the rest of the build
+ * rather than each starting their own threads.
+ */
+@ServiceScope(Scopes.BuildSession.class)
+public class ZipEntryDeflater implements Stoppable {
+    private final int maxWorkerCount;
+    private final ConditionalExecutionQueue<DeflatedContent> queue;
+
+    public ZipEntryDeflater(ExecutorFactory executorFactory, ParallelismConfiguration parallelismConfiguration, WorkerLeaseService workerLeaseService) {
+        this.maxWorkerCount = parallelismConfiguration.getMaxWorkerCount();
+        this.queue = new DefaultConditionalExecutionQueue<>("Deflate ZIP entries", maxWorkerCount, executorFactory, workerLeaseService);
+    }
+
+    /**
+     * Returns true when entries can be deflated concurrently with the thread writing the archive.
+     */
+    public boolean isParallel() {
+        return maxWorkerCount > 1;
+    }
+
+    /**
+     * Schedules deflating the given content.
+     */
+    public Deflation deflate(byte[] uncompressed) {
+        Deflation deflation = new Deflation(uncompressed);
+        queue.submit(deflation);
+        return deflation;
+    }
+
+    @Override
+    public void stop() {
+        queue.stop();
+    }
+
+    /**
+     * The deflation of the content of a single entry.
+     */
+    public static class Deflation implements ConditionalExecution<DeflatedContent> {
+        private final FutureTask<DeflatedContent> deflate;
+
+        private Deflation(byte[] uncompressed) {
+            this.deflate = new FutureTask<>(new Deflate(uncompressed));
+        }
+
+        @Override
+        public Runnable getExecution() {
+            return deflate;
+        }
+
+        /**
+         * Returns the deflated content. When no worker has started deflating the content yet, it is deflated on the calling thread,
+         * so that the caller does not have to wait for a worker lease to become available.
+         */
+        @Override
+        public DeflatedContent await() {
+            deflate.run();
+            try {
+                return deflate.get();
+            } catch (InterruptedException e) {
+                throw UncheckedException.throwAsUncheckedException(e);
+            } catch (ExecutionException e) {
+                throw UncheckedException.throwAsUncheckedException(e.getCause());
+            }
+        }
+
+        @Override
+        public void complete() {
+        }
+
+        @Override
+        public boolean isComplete() {
+            return deflate.isDone();
+        }
+
+        @Override
+        public void cancel() {
+            deflate.cancel(false);
+        }
+    }
+
+    public static class DeflatedContent {
+        private final byte[] bytes;
+        private final int length;
+        private final long crc;
+
+        DeflatedContent(byte[] bytes, int length, long crc) {
+            this.bytes = bytes;
+            this.length = length;
+            this.crc = crc;
+        }
+
+        public byte[] getBytes() {
+            return bytes;
+        }
+
+        public int getLength() {
+            return length;
+        }
+
+        public long getCrc() {
+            return crc;
+        }
+    }
+
+    private static class Deflate implements Callable<DeflatedContent> {
+        private final byte[] uncompressed;
+
+        Deflate(byte[] uncompressed) {
+            this.uncompressed = uncompressed;
+        }
+
+        @Override
+        public DeflatedContent call() {
+            CRC32 crc = new CRC32();
+            crc.update(uncompressed);
+            // Same settings as ZipArchiveOutputStream uses for deflated entries
+            Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+            try {
+                deflater.setInput(uncompressed);
+                deflater.finish();
+                byte[] compressed = new byte[Math.max(64, uncompressed.length / 2)];
+                int length = 0;
+                while (!deflater.finished()) {
+                    if (length == compressed.length) {
+                        compressed = Arrays.copyOf(compressed, compressed.length * 2);
+                    }
+                    length += deflater.deflate(compressed, length, compressed.length - length);
+                }
+                return new DeflatedContent(compressed, length, crc.getValue());
+            } finally {
+                deflater.end();
+            }
+        }
+    }
+}
@@ -33,6 +33,7 @@
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Enumeration;
 import java.util.Iterator;
 import java.util.Map;
@@ -89,7 +90,10 @@ public void visit(FileVisitor visitor) {
 
             AtomicBoolean stopFlag = new AtomicBoolean();
             File expandedDir = getExpandedDir();
-            try (ZipFile zip = new ZipFile(zipFile)) {
+            // Only read the central directory when opening the archive. The local header of an entry is read when its content is opened,
+            // so visiting a large archive with a filter does not touch the entries that are not used.
+            // Entry details such as timestamps and extra fields come from the central directory only, even when the local header differs
+            try (ZipFile zip = new ZipFile(zipFile, StandardCharsets.UTF_8.name(), true, true)) {
                 // The iteration order of zip.getEntries() is based on the hash of the zip entry. This isn't much use
                 // to us. So, collect the entries in a map and iterate over them in alphabetical order.
                 Iterator<ZipArchiveEntry> sortedEntries = entriesSortedByName(zip);
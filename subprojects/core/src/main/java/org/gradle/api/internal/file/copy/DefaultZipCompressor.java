@@ -32,6 +32,12 @@ public DefaultZipCompressor(boolean allowZip64Mode, int entryCompressionMethod)
         zip64Mode = allowZip64Mode ? Zip64Mode.AsNeeded : Zip64Mode.Never;
     }
 
+    @Override
+    public boolean canAddPreDeflatedEntries() {
+        // Raw entries do not get the Zip64 extra field that streamed entries get with Zip64Mode.AsNeeded
+        return entryCompressionMethod == ZipArchiveOutputStream.DEFLATED && zip64Mode == Zip64Mode.Never;
+    }
+
     @Override
     public ZipArchiveOutputStream createArchiveOutputStream(File destination) throws IOException {
         ZipArchiveOutputStream outStream = new ZipArchiveOutputStream(destination);
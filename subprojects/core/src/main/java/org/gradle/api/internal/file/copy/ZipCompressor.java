@@ -26,4 +26,12 @@ public interface ZipCompressor extends ArchiveOutputStreamFactory {
     @Override
     ZipArchiveOutputStream createArchiveOutputStream(File destination) throws IOException;
 
+    /**
+     * Returns true when entries are deflated with the default compression level and without Zip64 extensions, so that their content
+     * can be compressed independently of the archive output stream and added as raw entries with the same headers as streamed entries.
+     */
+    default boolean canAddPreDeflatedEntries() {
+        return false;
+    }
+
 }
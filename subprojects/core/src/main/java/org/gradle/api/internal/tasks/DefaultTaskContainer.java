@@ -521,6 +521,11 @@ public SortedSet<String> getNames() {
         }
     }
 
+    @Override
+    public boolean hasTaskWithName(String name) {
+        return hasWithName(name) || (modelNode != null && modelNode.hasLink(name));
+    }
+
     @Override
     public void realize() {
         if (modelNode != null) {
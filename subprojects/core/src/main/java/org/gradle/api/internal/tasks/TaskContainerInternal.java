@@ -44,6 +44,13 @@ public interface TaskContainerInternal extends TaskContainer, TaskResolver, Poly
      */
     void discoverTasks();
 
+    /**
+     * Returns true when a task with the given name has been created or registered in this container, without realizing the task or applying any rules.
+     *
+     * Unlike {@code getNames().contains(name)}, this does not need to collect the names of all tasks in the container.
+     */
+    boolean hasTaskWithName(String name);
+
     /**
      * Ensures that all configuration has been applied to the given task, and the task is ready to be added to the task graph.
      */
@@ -148,6 +148,9 @@ protected ObjectFactory getObjectFactory() {
 
     @TaskAction
     protected void copy() {
+        // Always processes the whole spec. Copying only changed source files would need the destination of removed files,
+        // which is only known by evaluating renames, eachFile actions and duplicate handling against the previous sources,
+        // and the sources of a spec are not tracked per root and child spec.
         CopyActionExecuter copyActionExecuter = createCopyActionExecuter();
         CopyAction copyAction = createCopyAction();
         WorkResult didWork = copyActionExecuter.execute(rootSpec, copyAction);
@@ -81,9 +81,13 @@ public <V> CrossBuildInMemoryCache<Class<?>, V> newClassMap() {
         return map;
     }
 
+    /**
+     * Values used in the current session are held in a concurrent map, so that looking up a value that has already been used in this session does not need the lock.
+     * The lock is only taken to look up retained values from previous sessions, to create new values and when a session completes.
+     */
     private abstract static class AbstractCrossBuildInMemoryCache<K, V> implements CrossBuildInMemoryCache<K, V>, BuildSessionLifecycleListener {
         private final Object lock = new Object();
-        private final Map<K, V> valuesForThisSession = new HashMap<>();
+        private final Map<K, V> valuesForThisSession = new ConcurrentHashMap<>();
 
         @Override
         public void beforeComplete() {
@@ -113,6 +117,10 @@ public void clear() {
         @Nullable
         @Override
         public V getIfPresent(K key) {
+            V v = valuesForThisSession.get(key);
+            if (v != null) {
+                return v;
+            }
             synchronized (lock) {
                 return getIfPresentWithoutLock(key);
             }
@@ -120,19 +128,24 @@ public V getIfPresent(K key) {
 
         @Override
         public V get(K key, Function<? super K, ? extends V> factory) {
+            V v = valuesForThisSession.get(key);
+            if (v != null) {
+                return v;
+            }
             synchronized (lock) {
-                V v = getIfPresentWithoutLock(key);
+                v = getIfPresentWithoutLock(key);
                 if (v != null) {
                     return v;
                 }
 
                 // TODO - do not hold lock while computing value
+                // Values are created while holding the lock, so each value is created only once, and factories that use the cache recursively cannot deadlock
                 v = factory.apply(key);
 
                 retainValue(key, v);
 
                 // Retain strong reference
-                valuesForThisSession.put(key, v);
+                retainForThisSession(key, v);
 
                 return v;
             }
@@ -142,7 +155,7 @@ public V get(K key, Function<? super K, ? extends V> factory) {
         public void put(K key, V value) {
             synchronized (lock) {
                 retainValue(key, value);
-                valuesForThisSession.put(key, value);
+                retainForThisSession(key, value);
             }
         }
 
@@ -162,6 +175,15 @@ private V getIfPresentWithoutLock(K key) {
 
             return null;
         }
+
+        // Caller must be holding lock
+        private void retainForThisSession(K key, @Nullable V v) {
+            if (v != null) {
+                valuesForThisSession.put(key, v);
+            } else {
+                valuesForThisSession.remove(key);
+            }
+        }
     }
 
     private static class DefaultCrossBuildInMemoryCache<K, V> extends AbstractCrossBuildInMemoryCache<K, V> {
@@ -21,12 +21,40 @@
 import org.gradle.api.internal.project.ProjectInternal;
 import org.gradle.api.internal.project.ProjectState;
 import org.gradle.initialization.BuildCancellationToken;
+import org.gradle.internal.UncheckedException;
+import org.gradle.internal.buildoption.InternalFlag;
+import org.gradle.internal.buildoption.InternalOptions;
+import org.gradle.internal.buildtree.BuildModelParameters;
+import org.gradle.internal.operations.BuildOperationContext;
+import org.gradle.internal.operations.BuildOperationDescriptor;
+import org.gradle.internal.operations.BuildOperationExecutor;
+import org.gradle.internal.operations.MultipleBuildOperationFailures;
+import org.gradle.internal.operations.RunnableBuildOperation;
+
+import java.util.ArrayList;
+import java.util.List;
 
 public class TaskPathProjectEvaluator implements ProjectConfigurer {
+    /**
+     * When isolated projects is enabled, configures the projects of a hierarchy in parallel.
+     */
+    public static final InternalFlag PARALLEL_CONFIGURATION = new InternalFlag("org.gradle.internal.isolated-projects.parallel-configuration");
+
     private final BuildCancellationToken cancellationToken;
+    private final BuildOperationExecutor buildOperationExecutor;
+    private final boolean parallelConfiguration;
 
-    public TaskPathProjectEvaluator(BuildCancellationToken cancellationToken) {
+    public TaskPathProjectEvaluator(
+        BuildCancellationToken cancellationToken,
+        BuildOperationExecutor buildOperationExecutor,
+        BuildModelParameters buildModelParameters,
+        InternalOptions internalOptions
+    ) {
         this.cancellationToken = cancellationToken;
+        this.buildOperationExecutor = buildOperationExecutor;
+        this.parallelConfiguration = buildModelParameters.isIsolatedProjects()
+            && buildModelParameters.isParallelProjectExecution()
+            && internalOptions.getOption(PARALLEL_CONFIGURATION).get();
     }
 
     @Override
@@ -46,8 +74,62 @@ public void configureFully(ProjectState projectState) {
     @Override
     public void configureHierarchy(ProjectInternal project) {
         configure(project);
-        for (Project sub : project.getSubprojects()) {
-            configure((ProjectInternal) sub);
+        if (parallelConfiguration) {
+            configureDescendantsInParallel(project);
+        } else {
+            for (Project sub : project.getSubprojects()) {
+                configure((ProjectInternal) sub);
+            }
+        }
+    }
+
+    /**
+     * Isolated projects cannot reach into the mutable state of other projects, so the projects can be configured concurrently, each holding its own project lock.
+     * A project is still only configured once its parent has been, so one level of the hierarchy is configured at a time.
+     * All projects of a level are configured even when some of them fail, and the next level is not started.
+     */
+    private void configureDescendantsInParallel(ProjectInternal project) {
+        List<ProjectState> level = new ArrayList<>(project.getOwner().getChildProjects());
+        while (!level.isEmpty()) {
+            if (cancellationToken.isCancellationRequested()) {
+                throw new BuildCancelledException();
+            }
+            List<ProjectState> projects = level;
+            try {
+                buildOperationExecutor.runAllWithAccessToProjectState(queue -> {
+                    for (ProjectState child : projects) {
+                        queue.add(new ConfigureProject(child));
+                    }
+                });
+            } catch (MultipleBuildOperationFailures e) {
+                // Report a single broken project the same way as when the projects are configured one after the other
+                if (e.getCauses().size() == 1) {
+                    throw UncheckedException.throwAsUncheckedException(e.getCauses().get(0));
+                }
+                throw e;
+            }
+            level = new ArrayList<>();
+            for (ProjectState configured : projects) {
+                level.addAll(configured.getChildProjects());
+            }
+        }
+    }
+
+    private static class ConfigureProject implements RunnableBuildOperation {
+        private final ProjectState project;
+
+        ConfigureProject(ProjectState project) {
+            this.project = project;
+        }
+
+        @Override
+        public void run(BuildOperationContext context) {
+            project.ensureConfigured();
+        }
+
+        @Override
+        public BuildOperationDescriptor.Builder description() {
+            return BuildOperationDescriptor.displayName("Configure " + project.getDisplayName().getDisplayName() + " in parallel");
         }
     }
 }
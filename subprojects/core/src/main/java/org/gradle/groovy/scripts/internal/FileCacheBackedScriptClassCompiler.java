@@ -89,6 +89,9 @@ public <T extends Script, M> CompiledScript<T, M> compile(final ScriptSource sou
             return emptyCompiledScript(operation);
         }
 
+        // Scripts are compiled when they are about to be run, not ahead of time, because the compile classpath is only known at this point:
+        // the classpath of a build script's buildscript/plugins pass is the one exported by its parent project, which depends on the plugins the parent applied,
+        // and the classpath of the body pass depends on what the plugins pass resolved
         ClassLoader classLoader = targetScope.getExportClassLoader();
         HashCode sourceHashCode = source.getResource().getContentHash();
         final String dslId = operation.getId();
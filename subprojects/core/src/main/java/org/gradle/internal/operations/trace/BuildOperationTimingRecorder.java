@@ -0,0 +1,309 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.operations.trace;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.gradle.StartParameter;
+import org.gradle.internal.UncheckedException;
+import org.gradle.internal.concurrent.Stoppable;
+import org.gradle.internal.operations.BuildOperationDescriptor;
+import org.gradle.internal.operations.BuildOperationListener;
+import org.gradle.internal.operations.BuildOperationListenerManager;
+import org.gradle.internal.operations.OperationFinishEvent;
+import org.gradle.internal.operations.OperationIdentifier;
+import org.gradle.internal.operations.OperationProgressEvent;
+import org.gradle.internal.operations.OperationStartEvent;
+import org.gradle.util.internal.GFileUtils;
+
+import javax.annotation.Nullable;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records the timing of every build operation into a compact, columnar binary file.
+ * Can be enabled for any build with `-Dorg.gradle.internal.operations.timings=«path-base»`.
+ *
+ * Unlike {@link BuildOperationTrace}, which serializes the details and results of each operation to JSON as it happens,
+ * this only keeps a handful of numeric columns per operation: id, parent id, details type, thread, start time, end time and whether it failed.
+ * Each thread appends to its own buffer, so recording an operation takes no locks and does no I/O.
+ * The buffers are merged and written to «path-base»-timings.bin when the build session finishes.
+ *
+ * The file can be read back with {@link BuildOperationTimings#read(File)},
+ * which can also convert it to the Chrome trace event format for viewing in chrome://tracing or Perfetto.
+ *
+ * The «path-base» param is optional.
+ * If invoked as `-Dorg.gradle.internal.operations.timings`, a base value of "operations" will be used.
+ */
+public class BuildOperationTimingRecorder implements Stoppable {
+
+    public static final String SYSPROP = "org.gradle.internal.operations.timings";
+
+    private final BuildOperationListenerManager buildOperationListenerManager;
+    private final File outputFile;
+
+    private final Map<String, Integer> types = new ConcurrentHashMap<>();
+    // Not a ThreadLocal, as daemon threads outlive the session and would keep their buffers after it has finished
+    private final Map<Thread, ThreadBuffer> buffers = new ConcurrentHashMap<>();
+
+    private final BuildOperationListener listener = new BuildOperationListener() {
+        @Override
+        public void started(BuildOperationDescriptor buildOperation, OperationStartEvent startEvent) {
+        }
+
+        @Override
+        public void progress(OperationIdentifier buildOperationId, OperationProgressEvent progressEvent) {
+        }
+
+        @Override
+        public void finished(BuildOperationDescriptor buildOperation, OperationFinishEvent finishEvent) {
+            OperationIdentifier parentId = buildOperation.getParentId();
+            currentBuffer().add(
+                buildOperation.getId().getId(),
+                parentId == null ? BuildOperationTimings.NO_PARENT : parentId.getId(),
+                typeIndex(buildOperation.getDetails()),
+                finishEvent.getStartTime(),
+                finishEvent.getEndTime(),
+                finishEvent.getFailure() != null
+            );
+        }
+    };
+
+    public BuildOperationTimingRecorder(StartParameter startParameter, BuildOperationListenerManager buildOperationListenerManager) {
+        this.buildOperationListenerManager = buildOperationListenerManager;
+
+        String basePath = startParameter.getSystemPropertiesArgs().get(SYSPROP);
+        if (basePath == null) {
+            basePath = System.getProperty(SYSPROP);
+        }
+        if (basePath == null || basePath.equals(Boolean.FALSE.toString())) {
+            this.outputFile = null;
+            return;
+        }
+
+        this.outputFile = file(basePath);
+        buildOperationListenerManager.addListener(listener);
+    }
+
+    public static File file(String basePath) {
+        if (basePath.isEmpty() || basePath.equals(Boolean.TRUE.toString())) {
+            basePath = "operations";
+        }
+        return new File(basePath + "-timings.bin");
+    }
+
+    @Override
+    public void stop() {
+        if (outputFile == null) {
+            return;
+        }
+        buildOperationListenerManager.removeListener(listener);
+        try {
+            GFileUtils.mkdirs(outputFile.getAbsoluteFile().getParentFile());
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(outputFile)))) {
+                write(output);
+            }
+        } catch (IOException e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        } finally {
+            buffers.clear();
+        }
+    }
+
+    private ThreadBuffer currentBuffer() {
+        Thread thread = Thread.currentThread();
+        ThreadBuffer buffer = buffers.get(thread);
+        if (buffer == null) {
+            // Only the current thread adds a buffer for itself, so there is no race to add it
+            buffer = new ThreadBuffer(thread.getName());
+            buffers.put(thread, buffer);
+        }
+        return buffer;
+    }
+
+    private int typeIndex(@Nullable Object details) {
+        if (details == null) {
+            return BuildOperationTimings.NO_TYPE;
+        }
+        String type = details.getClass().getName();
+        Integer index = types.get(type);
+        if (index == null) {
+            synchronized (types) {
+                index = types.get(type);
+                if (index == null) {
+                    index = types.size();
+                    types.put(type, index);
+                }
+            }
+        }
+        return index;
+    }
+
+    @VisibleForTesting
+    void write(DataOutputStream output) throws IOException {
+        // Operations may still finish while the file is written, so take a consistent snapshot of each buffer up front
+        List<Columns> threads = new ArrayList<>(buffers.size());
+        for (ThreadBuffer buffer : buffers.values()) {
+            threads.add(buffer.snapshot());
+        }
+        String[] typeNames = new String[types.size()];
+        for (Map.Entry<String, Integer> entry : types.entrySet()) {
+            if (entry.getValue() < typeNames.length) {
+                typeNames[entry.getValue()] = entry.getKey();
+            }
+        }
+
+        int count = 0;
+        for (Columns thread : threads) {
+            count += thread.size;
+        }
+
+        output.writeInt(BuildOperationTimings.MAGIC);
+        output.writeInt(BuildOperationTimings.VERSION);
+        output.writeInt(count);
+        output.writeInt(typeNames.length);
+        for (String typeName : typeNames) {
+            output.writeUTF(typeName);
+        }
+        output.writeInt(threads.size());
+        for (Columns thread : threads) {
+            output.writeUTF(thread.name);
+        }
+
+        // Columns are written one after the other, so that the reader can load each into a single primitive array
+        for (Columns thread : threads) {
+            for (int i = 0; i < thread.size; i++) {
+                output.writeLong(thread.ids[i]);
+            }
+        }
+        for (Columns thread : threads) {
+            for (int i = 0; i < thread.size; i++) {
+                output.writeLong(thread.parentIds[i]);
+            }
+        }
+        for (Columns thread : threads) {
+            for (int i = 0; i < thread.size; i++) {
+                output.writeInt(thread.types[i]);
+            }
+        }
+        for (int threadIndex = 0; threadIndex < threads.size(); threadIndex++) {
+            Columns thread = threads.get(threadIndex);
+            for (int i = 0; i < thread.size; i++) {
+                output.writeInt(threadIndex);
+            }
+        }
+        for (Columns thread : threads) {
+            for (int i = 0; i < thread.size; i++) {
+                output.writeLong(thread.startTimes[i]);
+            }
+        }
+        for (Columns thread : threads) {
+            for (int i = 0; i < thread.size; i++) {
+                output.writeLong(thread.endTimes[i]);
+            }
+        }
+        for (Columns thread : threads) {
+            for (int i = 0; i < thread.size; i++) {
+                output.writeBoolean(thread.failed[i]);
+            }
+        }
+    }
+
+    /**
+     * The columns of the operations a single thread had finished at some point in time.
+     */
+    private static class Columns {
+        final String name;
+        final int size;
+        final long[] ids;
+        final long[] parentIds;
+        final int[] types;
+        final long[] startTimes;
+        final long[] endTimes;
+        final boolean[] failed;
+
+        Columns(String name, int size, long[] ids, long[] parentIds, int[] types, long[] startTimes, long[] endTimes, boolean[] failed) {
+            this.name = name;
+            this.size = size;
+            this.ids = ids;
+            this.parentIds = parentIds;
+            this.types = types;
+            this.startTimes = startTimes;
+            this.endTimes = endTimes;
+            this.failed = failed;
+        }
+    }
+
+    /**
+     * Columns of the operations finished by a single thread. Only ever written to by that thread.
+     */
+    private static class ThreadBuffer {
+        private static final int INITIAL_CAPACITY = 256;
+
+        private final String name;
+        private long[] ids = new long[INITIAL_CAPACITY];
+        private long[] parentIds = new long[INITIAL_CAPACITY];
+        private int[] types = new int[INITIAL_CAPACITY];
+        private long[] startTimes = new long[INITIAL_CAPACITY];
+        private long[] endTimes = new long[INITIAL_CAPACITY];
+        private boolean[] failed = new boolean[INITIAL_CAPACITY];
+        // Volatile so that the values written by the owning thread are visible to a snapshot that sees the new size
+        private volatile int size;
+
+        ThreadBuffer(String name) {
+            this.name = name;
+        }
+
+        void add(long id, long parentId, int type, long startTime, long endTime, boolean failure) {
+            int index = size;
+            if (index == ids.length) {
+                grow(index * 2);
+            }
+            ids[index] = id;
+            parentIds[index] = parentId;
+            types[index] = type;
+            startTimes[index] = startTime;
+            endTimes[index] = endTime;
+            failed[index] = failure;
+            size = index + 1;
+        }
+
+        // Replacing the columns is rare, so it shares a lock with snapshot() rather than publishing the new columns some other way
+        private synchronized void grow(int capacity) {
+            ids = Arrays.copyOf(ids, capacity);
+            parentIds = Arrays.copyOf(parentIds, capacity);
+            types = Arrays.copyOf(types, capacity);
+            startTimes = Arrays.copyOf(startTimes, capacity);
+            endTimes = Arrays.copyOf(endTimes, capacity);
+            failed = Arrays.copyOf(failed, capacity);
+        }
+
+        /**
+         * Returns the operations recorded so far. Values past the returned size may still be written by the owning thread, but never the values before it.
+         */
+        synchronized Columns snapshot() {
+            return new Columns(name, size, ids, parentIds, types, startTimes, endTimes, failed);
+        }
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.operations.trace;
+
+import org.gradle.internal.UncheckedException;
+
+import javax.annotation.Nullable;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+
+/**
+ * The build operation timings written by {@link BuildOperationTimingRecorder}, held in memory as one primitive array per column.
+ */
+public class BuildOperationTimings {
+
+    static final int MAGIC = 0x47424f54;
+    static final int VERSION = 1;
+    static final long NO_PARENT = -1;
+    static final int NO_TYPE = -1;
+
+    private final String[] typeNames;
+    private final String[] threadNames;
+    private final long[] ids;
+    private final long[] parentIds;
+    private final int[] types;
+    private final int[] threads;
+    private final long[] startTimes;
+    private final long[] endTimes;
+    private final boolean[] failed;
+
+    private BuildOperationTimings(DataInputStream input) throws IOException {
+        if (input.readInt() != MAGIC) {
+            throw new IOException("Not a build operation timings file.");
+        }
+        int version = input.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported build operation timings file version " + version + ".");
+        }
+        int count = input.readInt();
+        typeNames = new String[input.readInt()];
+        for (int i = 0; i < typeNames.length; i++) {
+            typeNames[i] = input.readUTF();
+        }
+        threadNames = new String[input.readInt()];
+        for (int i = 0; i < threadNames.length; i++) {
+            threadNames[i] = input.readUTF();
+        }
+        ids = readLongs(input, count);
+        parentIds = readLongs(input, count);
+        types = readInts(input, count);
+        threads = readInts(input, count);
+        startTimes = readLongs(input, count);
+        endTimes = readLongs(input, count);
+        failed = new boolean[count];
+        for (int i = 0; i < count; i++) {
+            failed[i] = input.readBoolean();
+        }
+    }
+
+    public static BuildOperationTimings read(File file) {
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            return new BuildOperationTimings(input);
+        } catch (IOException e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        }
+    }
+
+    private static long[] readLongs(DataInputStream input, int count) throws IOException {
+        long[] column = new long[count];
+        for (int i = 0; i < count; i++) {
+            column[i] = input.readLong();
+        }
+        return column;
+    }
+
+    private static int[] readInts(DataInputStream input, int count) throws IOException {
+        int[] column = new int[count];
+        for (int i = 0; i < count; i++) {
+            column[i] = input.readInt();
+        }
+        return column;
+    }
+
+    /**
+     * The number of recorded operations. Operations are ordered by the thread that finished them, and then by the time they finished.
+     */
+    public int size() {
+        return ids.length;
+    }
+
+    public long getId(int index) {
+        return ids[index];
+    }
+
+    /**
+     * The id of the parent operation, or {@code null} for a root operation.
+     */
+    @Nullable
+    public Long getParentId(int index) {
+        long parentId = parentIds[index];
+        return parentId == NO_PARENT ? null : parentId;
+    }
+
+    /**
+     * The class name of the operation details, or {@code null} when the operation has no details.
+     */
+    @Nullable
+    public String getDetailsType(int index) {
+        int type = types[index];
+        return type == NO_TYPE ? null : typeNames[type];
+    }
+
+    public String getThreadName(int index) {
+        return threadNames[threads[index]];
+    }
+
+    public long getStartTime(int index) {
+        return startTimes[index];
+    }
+
+    public long getEndTime(int index) {
+        return endTimes[index];
+    }
+
+    public boolean isFailed(int index) {
+        return failed[index];
+    }
+
+    /**
+     * Writes the operations as complete events in the Chrome trace event format, which can be loaded into chrome://tracing or Perfetto.
+     */
+    public void writeChromeTrace(Appendable output) throws IOException {
+        output.append("{\"traceEvents\":[");
+        for (int thread = 0; thread < threadNames.length; thread++) {
+            if (thread > 0) {
+                output.append(',');
+            }
+            output.append("{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":0,\"tid\":").append(String.valueOf(thread)).append(",\"args\":{\"name\":");
+            appendString(output, threadNames[thread]);
+            output.append("}}");
+        }
+        for (int i = 0; i < ids.length; i++) {
+            if (i > 0 || threadNames.length > 0) {
+                output.append(',');
+            }
+            String type = getDetailsType(i);
+            output.append("{\"name\":");
+            appendString(output, type == null ? "operation" : type.substring(type.lastIndexOf('.') + 1));
+            // Chrome trace timestamps are in microseconds, build operation times in milliseconds
+            output.append(",\"ph\":\"X\",\"pid\":0,\"tid\":").append(String.valueOf(threads[i]))
+                .append(",\"ts\":").append(String.valueOf(startTimes[i] * 1000))
+                .append(",\"dur\":").append(String.valueOf((endTimes[i] - startTimes[i]) * 1000))
+                .append(",\"args\":{\"id\":").append(String.valueOf(ids[i]));
+            if (parentIds[i] != NO_PARENT) {
+                output.append(",\"parentId\":").append(String.valueOf(parentIds[i]));
+            }
+            if (type != null) {
+                output.append(",\"detailsType\":");
+                appendString(output, type);
+            }
+            if (failed[i]) {
+                output.append(",\"failed\":true");
+            }
+            output.append("}}");
+        }
+        output.append("]}");
+    }
+
+    private static void appendString(Appendable output, String value) throws IOException {
+        output.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                output.append('\\').append(c);
+            } else if (c < 0x20) {
+                output.append(String.format("\\u%04x", (int) c));
+            } else {
+                output.append(c);
+            }
+        }
+        output.append('"');
+    }
+}
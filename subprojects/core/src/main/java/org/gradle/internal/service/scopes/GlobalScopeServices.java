@@ -143,8 +143,8 @@ CurrentBuildOperationRef createCurrentBuildOperationRef() {
         return CurrentBuildOperationRef.instance();
     }
 
-    BuildOperationListenerManager createBuildOperationListenerManager() {
-        return new DefaultBuildOperationListenerManager();
+    BuildOperationListenerManager createBuildOperationListenerManager(ExecutorFactory executorFactory) {
+        return new DefaultBuildOperationListenerManager(executorFactory.create("Build operation listener"));
     }
 
     ScriptFileResolver createScriptFileResolver(DefaultScriptFileResolverListeners listeners) {
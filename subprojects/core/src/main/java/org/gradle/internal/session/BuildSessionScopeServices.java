@@ -25,6 +25,7 @@
 import org.gradle.api.internal.file.FileCollectionFactory;
 import org.gradle.api.internal.file.FileLookup;
 import org.gradle.api.internal.file.FileResolver;
+import org.gradle.api.internal.file.archive.ZipEntryDeflater;
 import org.gradle.api.internal.project.BuildOperationCrossProjectConfigurator;
 import org.gradle.api.internal.project.CrossProjectConfigurator;
 import org.gradle.api.internal.tasks.userinput.DefaultUserInputHandler;
@@ -120,6 +121,7 @@ void configure(ServiceRegistration registration, List<PluginServiceRegistry> plu
         registration.add(StateTransitionControllerFactory.class);
         registration.add(BuildLayoutValidator.class);
         registration.add(DefaultAsyncWorkTracker.class);
+        registration.add(ZipEntryDeflater.class);
 
         // Must be no higher than this scope as needs cache repository services.
         registration.addProvider(new ScopeIdsServices());
@@ -40,6 +40,7 @@
 import org.gradle.internal.operations.logging.LoggingBuildOperationProgressBroadcaster;
 import org.gradle.internal.operations.notify.BuildOperationNotificationBridge;
 import org.gradle.internal.operations.notify.BuildOperationNotificationValve;
+import org.gradle.internal.operations.trace.BuildOperationTimingRecorder;
 import org.gradle.internal.operations.trace.BuildOperationTrace;
 import org.gradle.internal.resources.DefaultResourceLockCoordinationService;
 import org.gradle.internal.service.ServiceRegistration;
@@ -75,6 +76,7 @@ public CrossBuildSessionState(ServiceRegistry parent, StartParameter startParame
             .build();
         // Trigger listener to wire itself in
         services.get(BuildOperationTrace.class);
+        services.get(BuildOperationTimingRecorder.class);
     }
 
     public ServiceRegistry getServices() {
@@ -148,6 +150,10 @@ BuildOperationTrace createBuildOperationTrace(BuildOperationListenerManager buil
             return new BuildOperationTrace(startParameter, buildOperationListenerManager);
         }
 
+        BuildOperationTimingRecorder createBuildOperationTimingRecorder(BuildOperationListenerManager buildOperationListenerManager) {
+            return new BuildOperationTimingRecorder(startParameter, buildOperationListenerManager);
+        }
+
         BuildOperationNotificationBridge createBuildOperationNotificationBridge(BuildOperationListenerManager buildOperationListenerManager, ListenerManager generalListenerManager) {
             return new BuildOperationNotificationBridge(buildOperationListenerManager, generalListenerManager);
         }
@@ -85,6 +85,7 @@ private void forwardContent() {
                     writeBuffer(buffer, nread);
                 }
             }
+            outputStream.flush();
             CompositeStoppable.stoppable(inputStream, outputStream).stop();
         } catch (Throwable t) {
             if (!closed && !wasInterrupted(t)) {
@@ -95,7 +96,10 @@ private void forwardContent() {
 
     private void writeBuffer(byte[] buffer, int nread) throws IOException {
         outputStream.write(buffer, 0, nread);
-        outputStream.flush();
+        // Only flush once the process has no more output pending, so that large amounts of output are not flushed in small chunks
+        if (inputStream.available() == 0) {
+            outputStream.flush();
+        }
     }
 
     /**
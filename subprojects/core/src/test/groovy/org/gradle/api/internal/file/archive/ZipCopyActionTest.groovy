@@ -25,12 +25,17 @@ import org.gradle.api.internal.file.copy.CopyActionProcessingStream
 import org.gradle.api.internal.file.copy.DefaultZipCompressor
 import org.gradle.api.internal.file.copy.FileCopyDetailsInternal
 import org.gradle.api.tasks.bundling.Zip
+import org.gradle.internal.concurrent.DefaultExecutorFactory
+import org.gradle.internal.concurrent.DefaultParallelismConfiguration
 import org.gradle.test.fixtures.archive.ZipTestFixture
 import org.gradle.test.fixtures.file.TestFile
 import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.gradle.test.fixtures.work.TestWorkerLeaseService
 import org.junit.Rule
 import spock.lang.Specification
 
+import java.util.zip.ZipFile
+
 import static org.gradle.api.internal.file.copy.CopyActionExecuterUtil.visit
 import static org.hamcrest.CoreMatchers.equalTo
 
@@ -42,12 +47,17 @@ class ZipCopyActionTest extends Specification {
     ZipCopyAction visitor
     TestFile zipFile
     def encoding = 'UTF-8'
+    def entryDeflater = new ZipEntryDeflater(new DefaultExecutorFactory(), new DefaultParallelismConfiguration(true, 4), new TestWorkerLeaseService())
 
     def setup() {
         zipFile = tmpDir.getTestDirectory().file("test.zip")
         visitor = new ZipCopyAction(zipFile, new DefaultZipCompressor(false, ZipArchiveOutputStream.STORED), new DocumentationRegistry(), encoding, false)
     }
 
+    def cleanup() {
+        entryDeflater.stop()
+    }
+
     void createsZipFile() {
         given:
         zip(dir("dir"), file("dir/file1"), file("file2"))
@@ -74,6 +84,45 @@ class ZipCopyActionTest extends Specification {
         expandDir.file("file2").assertContents(equalTo("contents of file2"))
     }
 
+    void deflatesEntriesInParallelInVisitOrder() {
+        given:
+        visitor = new ZipCopyAction(zipFile, new DefaultZipCompressor(false, ZipArchiveOutputStream.DEFLATED), new DocumentationRegistry(), encoding, false, entryDeflater)
+        def largeContent = "large" * (512 * 1024)
+
+        when:
+        zip(dir("dir"), file("dir/file1"), file("file2"), file("large", largeContent), file("file3"))
+        TestFile expandDir = tmpDir.getTestDirectory().file("expanded")
+        zipFile.unzipTo(expandDir)
+
+        then:
+        new ZipFile(zipFile).withCloseable { it.entries()*.name } == ["dir/", "dir/file1", "file2", "large", "file3"]
+        expandDir.file("dir/file1").assertContents(equalTo("contents of dir/file1"))
+        expandDir.file("file2").assertContents(equalTo("contents of file2"))
+        expandDir.file("large").text == largeContent
+        expandDir.file("file3").assertContents(equalTo("contents of file3"))
+    }
+
+    void "deflating entries in parallel writes the same archive as deflating them sequentially when zip64 is #zip64"() {
+        given:
+        def sequentialZipFile = tmpDir.getTestDirectory().file("sequential.zip")
+        def parallelZipFile = tmpDir.getTestDirectory().file("parallel.zip")
+        def entries = {
+            [dir("dir"), file("dir/file1"), file("file2", "file2" * 10000), file("large", "large" * (512 * 1024)), file("file3")] as FileCopyDetailsInternal[]
+        }
+
+        when:
+        visitor = new ZipCopyAction(sequentialZipFile, new DefaultZipCompressor(zip64, ZipArchiveOutputStream.DEFLATED), new DocumentationRegistry(), encoding, false)
+        zip(entries())
+        visitor = new ZipCopyAction(parallelZipFile, new DefaultZipCompressor(zip64, ZipArchiveOutputStream.DEFLATED), new DocumentationRegistry(), encoding, false, entryDeflater)
+        zip(entries())
+
+        then:
+        parallelZipFile.bytes == sequentialZipFile.bytes
+
+        where:
+        zip64 << [false, true]
+    }
+
     void zipFileContainsExpectedPermissions() {
         given:
         zip(dir("dir"), file("file"))
@@ -153,14 +202,14 @@ class ZipCopyActionTest extends Specification {
         })
     }
 
-    private FileCopyDetailsInternal file(final String path) {
+    private FileCopyDetailsInternal file(final String path, final String content = "contents of $path") {
         def mock = Mock(FileCopyDetailsInternal)
         mock.getRelativePath() >> RelativePath.parse(false, path)
         mock.getLastModified() >> 1000L
         mock.isDirectory() >> false
         mock.getPermissions() >> new DefaultFilePermissions(1)
         mock.copyTo(_ as OutputStream) >> { OutputStream out ->
-            out << "contents of $path"
+            out << content
         }
         mock
     }
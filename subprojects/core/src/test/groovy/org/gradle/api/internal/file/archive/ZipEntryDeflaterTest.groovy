@@ -0,0 +1,124 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.file.archive
+
+import org.gradle.internal.concurrent.DefaultExecutorFactory
+import org.gradle.internal.concurrent.DefaultParallelismConfiguration
+import org.gradle.internal.resources.DefaultResourceLockCoordinationService
+import org.gradle.internal.work.DefaultWorkerLeaseService
+import org.gradle.test.fixtures.concurrent.ConcurrentSpec
+
+import java.util.concurrent.CountDownLatch
+import java.util.zip.CRC32
+import java.util.zip.Inflater
+
+import static org.gradle.test.fixtures.ConcurrentTestUtil.poll
+
+class ZipEntryDeflaterTest extends ConcurrentSpec {
+    def parallelism = new DefaultParallelismConfiguration(true, 2)
+    def coordinationService = new DefaultResourceLockCoordinationService()
+    def workerLeaseService = new DefaultWorkerLeaseService(coordinationService, parallelism)
+    def deflaterExecutorFactory = new DefaultExecutorFactory()
+    def deflater = new ZipEntryDeflater(deflaterExecutorFactory, parallelism, workerLeaseService)
+
+    def setup() {
+        workerLeaseService.startProjectExecution(true)
+    }
+
+    def cleanup() {
+        deflater.stop()
+        deflaterExecutorFactory.stop()
+        workerLeaseService.stop()
+    }
+
+    def "deflates content on a worker thread"() {
+        def content = ("content" * 1000).bytes
+
+        when:
+        def deflation = deflater.deflate(content)
+        poll {
+            assert deflation.isComplete()
+        }
+
+        then:
+        inflate(deflation.await()) == content
+    }
+
+    def "deflates content on the calling thread when no worker lease is available"() {
+        def content = ("content" * 1000).bytes
+        def leaseTaken = new CountDownLatch(1)
+        def release = new CountDownLatch(1)
+
+        given:
+        def lease = workerLeaseService.startWorker()
+        start {
+            workerLeaseService.runAsWorkerThread {
+                leaseTaken.countDown()
+                release.await()
+            }
+        }
+        leaseTaken.await()
+
+        when:
+        def deflation = deflater.deflate(content)
+        def deflated = deflation.await()
+
+        then:
+        inflate(deflated) == content
+        deflated.crc == crc(content)
+
+        cleanup:
+        release.countDown()
+        lease?.leaseFinish()
+    }
+
+    def "is parallel only when more than one worker may run"() {
+        def sequentialDeflater = new ZipEntryDeflater(deflaterExecutorFactory, new DefaultParallelismConfiguration(false, 1), workerLeaseService)
+
+        expect:
+        deflater.parallel
+        !sequentialDeflater.parallel
+
+        cleanup:
+        sequentialDeflater.stop()
+    }
+
+    private static byte[] inflate(ZipEntryDeflater.DeflatedContent deflated) {
+        def inflater = new Inflater(true)
+        try {
+            inflater.setInput(deflated.bytes, 0, deflated.length)
+            def result = new ByteArrayOutputStream()
+            def buffer = new byte[1024]
+            while (!inflater.finished()) {
+                int count = inflater.inflate(buffer)
+                if (count == 0 && inflater.needsInput()) {
+                    break
+                }
+                result.write(buffer, 0, count)
+            }
+            return result.toByteArray()
+        } finally {
+            inflater.end()
+        }
+    }
+
+    private static long crc(byte[] content) {
+        def crc = new CRC32()
+        crc.update(content)
+        return crc.value
+    }
+}
@@ -15,14 +15,25 @@
  */
 package org.gradle.api.internal.file.archive;
 
+import org.apache.commons.compress.archivers.zip.X5455_ExtendedTimestamp;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
 import org.gradle.api.GradleException;
 import org.gradle.api.InvalidUserDataException;
 import org.gradle.api.file.EmptyFileVisitor;
+import org.gradle.api.file.FileVisitDetails;
 import org.gradle.cache.internal.TestCaches;
 import org.gradle.test.fixtures.file.TestFile;
 import org.gradle.util.TestUtil;
 import org.junit.Test;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -119,4 +130,37 @@ public void expectedDefaultForNoModeZips() {
 
         assertVisitsPermissions(tree, expected);
     }
+
+    @Test
+    public void readsEntryDetailsFromCentralDirectory() throws IOException {
+        long centralDirectoryTime = 1600000000000L;
+        try (ZipArchiveOutputStream outputStream = new ZipArchiveOutputStream(archiveFile)) {
+            ZipArchiveEntry entry = new ZipArchiveEntry("subdir/file.txt");
+            X5455_ExtendedTimestamp timestamp = new X5455_ExtendedTimestamp();
+            timestamp.setModifyJavaTime(new Date(centralDirectoryTime));
+            entry.addExtraField(timestamp);
+            outputStream.putArchiveEntry(entry);
+            outputStream.write("content".getBytes(StandardCharsets.UTF_8));
+            outputStream.closeArchiveEntry();
+        }
+        // Change the modification time in the local file header only, so that it no longer matches the central directory
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(archiveFile.toPath())).order(ByteOrder.LITTLE_ENDIAN);
+        int extraField = 30 + bytes.getShort(26);
+        while (bytes.getShort(extraField) != X5455_ExtendedTimestamp.HEADER_ID.getValue()) {
+            extraField += 4 + bytes.getShort(extraField + 2);
+        }
+        bytes.putInt(extraField + 5, (int) (centralDirectoryTime / 1000 - 3600));
+        Files.write(archiveFile.toPath(), bytes.array());
+
+        final Map<String, Long> lastModified = new HashMap<>();
+        tree.visit(new EmptyFileVisitor() {
+            @Override
+            public void visitFile(FileVisitDetails fileDetails) {
+                lastModified.put(fileDetails.getPath(), fileDetails.getLastModified());
+                new TestFile(fileDetails.getFile()).assertContents(equalTo("content"));
+            }
+        });
+
+        assertThat(lastModified, equalTo(Collections.singletonMap("subdir/file.txt", centralDirectoryTime)));
+    }
 }
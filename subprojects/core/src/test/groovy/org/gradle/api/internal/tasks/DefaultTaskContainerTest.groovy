@@ -41,6 +41,7 @@ import org.gradle.api.provider.Provider
 import org.gradle.api.tasks.TaskDependency
 import org.gradle.internal.reflect.DirectInstantiator
 import org.gradle.internal.service.ServiceRegistry
+import org.gradle.model.internal.core.MutableModelNode
 import org.gradle.util.Path
 import org.gradle.util.TestUtil
 
@@ -665,6 +666,42 @@ class DefaultTaskContainerTest extends AbstractPolymorphicDomainObjectContainerS
         provider.present
     }
 
+    void "can check for registered task by name without realizing it"() {
+        def task = task("created")
+        taskFactory.create(_ as TaskIdentity) >> task
+        container.create("created")
+
+        container.register("registered", DefaultTask)
+
+        when:
+        def registered = container.hasTaskWithName("registered")
+        def created = container.hasTaskWithName("created")
+        def unknown = container.hasTaskWithName("unknown")
+
+        then:
+        registered
+        created
+        !unknown
+        0 * taskFactory._
+    }
+
+    void "can check for task defined by model rule by name without realizing it"() {
+        def modelNode = Mock(MutableModelNode)
+        container.modelNode = modelNode
+
+        when:
+        def ruleTask = container.hasTaskWithName("ruleTask")
+        def unknown = container.hasTaskWithName("unknown")
+
+        then:
+        ruleTask
+        !unknown
+        1 * modelNode.hasLink("ruleTask") >> true
+        1 * modelNode.hasLink("unknown") >> false
+        0 * modelNode._
+        0 * taskFactory._
+    }
+
     void "can define task to create later given name"() {
         def task = task("task")
 
@@ -96,4 +96,29 @@ class DefaultCrossBuildInMemoryCacheFactoryTest extends AbstractCrossBuildInMemo
         cache.put(String, c)
         cache.getIfPresent(String) == c
     }
+
+    def "can read existing entries while another entry is being created"() {
+        def a = new Object()
+        def b = new Object()
+        def cache = factory.newCache()
+        cache.get("a") { a }
+
+        when:
+        async {
+            start {
+                cache.get("b") {
+                    instant.creatingB
+                    thread.blockUntil.readA
+                    b
+                }
+            }
+            thread.blockUntil.creatingB
+            assert cache.get("a") { throw new IllegalStateException() } == a
+            assert cache.getIfPresent("a") == a
+            instant.readA
+        }
+
+        then:
+        cache.getIfPresent("b") == b
+    }
 }
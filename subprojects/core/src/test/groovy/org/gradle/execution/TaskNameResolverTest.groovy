@@ -39,7 +39,7 @@ class TaskNameResolverTest extends Specification {
 
         then:
         1 * tasks.discoverTasks()
-        1 * tasks.names >> (['task'] as SortedSet)
+        1 * tasks.hasTaskWithName('task') >> true
         0 * tasks._
 
         when:
@@ -55,7 +55,7 @@ class TaskNameResolverTest extends Specification {
 
     def "returns null when no task with given name for single project"() {
         given:
-        tasks.names >> (['not-a-task'] as SortedSet)
+        tasks.hasTaskWithName('task') >> false
 
         expect:
         resolver.selectWithName('task', project, false) == null
@@ -79,8 +79,8 @@ class TaskNameResolverTest extends Specification {
         then:
         1 * tasks.discoverTasks()
         1 * childTasks.discoverTasks()
-        1 * tasks.names >> (['task'] as SortedSet)
-        1 * childTasks.names >> (['task'] as SortedSet)
+        1 * tasks.hasTaskWithName('task') >> true
+        1 * childTasks.hasTaskWithName('task') >> true
         1 * tasks.getByName('task') >> task1
         1 * childTasks.getByName('task') >> task2
         0 * tasks._
@@ -114,7 +114,7 @@ class TaskNameResolverTest extends Specification {
 
         then:
         1 * tasks.discoverTasks()
-        1 * tasks.names >> (['task'] as SortedSet)
+        1 * tasks.hasTaskWithName('task') >> true
         1 * tasks.getByName('task') >> task1
         0 * tasks._
         0 * childTasks._
@@ -146,9 +146,9 @@ class TaskNameResolverTest extends Specification {
         then:
         1 * tasks.discoverTasks()
         1 * childTasks.discoverTasks()
-        1 * tasks.names >> (['not-a-task'] as SortedSet)
+        1 * tasks.hasTaskWithName('task') >> false
         1 * tasks.findByName('task') >> null
-        1 * childTasks.names >> (['task'] as SortedSet)
+        1 * childTasks.hasTaskWithName('task') >> true
         1 * childTasks.getByName('task') >> task1
         0 * tasks._
         0 * childTasks._
@@ -222,9 +222,9 @@ class TaskNameResolverTest extends Specification {
         matches == [task1, task2]
 
         and:
-        1 * tasks.names >> (['task1', 'task2'] as SortedSet)
+        1 * tasks.hasTaskWithName('task1') >> true
         1 * tasks.getByName('task1') >> task1
-        1 * childTasks.names >> (['task1', 'task3'] as SortedSet)
+        1 * childTasks.hasTaskWithName('task1') >> true
         1 * childTasks.getByName('task1') >> task2
         0 * tasks._
         0 * childTasks._
@@ -262,7 +262,7 @@ class TaskNameResolverTest extends Specification {
         matches == [task1]
 
         and:
-        1 * tasks.names >> (['task1', 'task2'] as SortedSet)
+        1 * tasks.hasTaskWithName('task1') >> true
         1 * tasks.getByName('task1') >> task1
         0 * tasks._
         0 * childTasks._
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.execution
+
+import org.gradle.api.BuildCancelledException
+import org.gradle.api.Project
+import org.gradle.api.internal.project.ProjectInternal
+import org.gradle.api.internal.project.ProjectState
+import org.gradle.api.logging.LogLevel
+import org.gradle.initialization.BuildCancellationToken
+import org.gradle.internal.Describables
+import org.gradle.internal.buildoption.DefaultInternalOptions
+import org.gradle.internal.buildtree.BuildModelParameters
+import org.gradle.internal.concurrent.DefaultExecutorFactory
+import org.gradle.internal.concurrent.DefaultParallelismConfiguration
+import org.gradle.internal.operations.BuildOperationDescriptor
+import org.gradle.internal.operations.BuildOperationListener
+import org.gradle.internal.operations.DefaultBuildOperationExecutor
+import org.gradle.internal.operations.DefaultBuildOperationIdFactory
+import org.gradle.internal.operations.DefaultBuildOperationQueueFactory
+import org.gradle.internal.operations.MultipleBuildOperationFailures
+import org.gradle.internal.progress.NoOpProgressLoggerFactory
+import org.gradle.internal.resources.DefaultResourceLockCoordinationService
+import org.gradle.internal.time.Clock
+import org.gradle.internal.work.DefaultWorkerLeaseService
+import org.gradle.internal.work.WorkerLeaseRegistry
+import spock.lang.Specification
+
+import java.util.concurrent.CopyOnWriteArrayList
+
+class TaskPathProjectEvaluatorTest extends Specification {
+    def cancellationToken = Stub(BuildCancellationToken)
+    def operationListener = Stub(BuildOperationListener)
+    def parallelism = new DefaultParallelismConfiguration(true, 4)
+    def workerLeaseService = new DefaultWorkerLeaseService(new DefaultResourceLockCoordinationService(), parallelism)
+    def buildOperationExecutor = new DefaultBuildOperationExecutor(
+        operationListener, Stub(Clock), new NoOpProgressLoggerFactory(),
+        new DefaultBuildOperationQueueFactory(workerLeaseService), new DefaultExecutorFactory(), parallelism, new DefaultBuildOperationIdFactory())
+    def configured = new CopyOnWriteArrayList<String>()
+    def operations = new CopyOnWriteArrayList<String>()
+    def failures = [:]
+    WorkerLeaseRegistry.WorkerLeaseCompletion lease
+
+    def setup() {
+        operationListener.started(_, _) >> { BuildOperationDescriptor descriptor, event -> operations << descriptor.displayName }
+        workerLeaseService.startProjectExecution(true)
+        lease = workerLeaseService.startWorker()
+    }
+
+    def cleanup() {
+        lease?.leaseFinish()
+        buildOperationExecutor.stop()
+        workerLeaseService.stop()
+    }
+
+    def "configures projects of a hierarchy one after the other when parallel configuration is #description"() {
+        def root = hierarchy()
+        def evaluator = evaluator(isolatedProjects, parallel, flag)
+
+        when:
+        evaluator.configureHierarchy(root)
+
+        then:
+        configured == ["root", "a", "a1", "b", "b1", "b2"]
+        operations.empty
+
+        where:
+        description                          | isolatedProjects | parallel | flag
+        "not enabled"                        | true             | true     | null
+        "disabled"                           | true             | true     | "false"
+        "enabled without isolated projects"  | false            | true     | "true"
+        "enabled without parallel execution" | true             | false    | "true"
+    }
+
+    def "configures projects of a hierarchy in parallel, one level at a time, when parallel configuration is enabled"() {
+        def root = hierarchy()
+        def evaluator = evaluator(true, true, "true")
+
+        when:
+        evaluator.configureHierarchy(root)
+
+        then:
+        configured.size() == 6
+        configured[0] == "root"
+        configured[1..2] as Set == ["a", "b"] as Set
+        configured[3..5] as Set == ["a1", "b1", "b2"] as Set
+
+        and:
+        operations as Set == ["a", "b", "a1", "b1", "b2"].collect { "Configure project ':$it' in parallel".toString() } as Set
+        operations.size() == 5
+    }
+
+    def "reports the failure of a single project as is and does not configure the next level"() {
+        def failure = new RuntimeException("broken a")
+        failures["a"] = failure
+        def root = hierarchy()
+        def evaluator = evaluator(true, true, "true")
+
+        when:
+        evaluator.configureHierarchy(root)
+
+        then:
+        def e = thrown(RuntimeException)
+        e.is(failure)
+
+        and:
+        configured as Set == ["root", "a", "b"] as Set
+    }
+
+    def "configures all projects of a level and reports all failures when several projects fail"() {
+        def failureA = new RuntimeException("broken a")
+        def failureB = new RuntimeException("broken b")
+        failures["a"] = failureA
+        failures["b"] = failureB
+        def root = hierarchy()
+        def evaluator = evaluator(true, true, "true")
+
+        when:
+        evaluator.configureHierarchy(root)
+
+        then:
+        def e = thrown(MultipleBuildOperationFailures)
+        e.causes as Set == [failureA, failureB] as Set
+
+        and:
+        configured as Set == ["root", "a", "b"] as Set
+    }
+
+    def "does not configure further levels once the build has been cancelled"() {
+        cancellationToken.cancellationRequested >>> [false, true]
+        def root = hierarchy()
+        def evaluator = evaluator(true, true, "true")
+
+        when:
+        evaluator.configureHierarchy(root)
+
+        then:
+        thrown(BuildCancelledException)
+
+        and:
+        configured as Set == ["root", "a", "b"] as Set
+    }
+
+    private TaskPathProjectEvaluator evaluator(boolean isolatedProjects, boolean parallel, String flag) {
+        def buildModelParameters = new BuildModelParameters(parallel, false, isolatedProjects, isolatedProjects, true, false, false, false, LogLevel.LIFECYCLE)
+        def options = flag == null ? [:] : [(TaskPathProjectEvaluator.PARALLEL_CONFIGURATION.systemPropertyName): flag]
+        return new TaskPathProjectEvaluator(cancellationToken, buildOperationExecutor, buildModelParameters, new DefaultInternalOptions(options))
+    }
+
+    /**
+     * root -> (a -> a1), (b -> b1, b2)
+     */
+    private ProjectInternal hierarchy() {
+        def a1 = project("a1")
+        def a = project("a", a1)
+        def b1 = project("b1")
+        def b2 = project("b2")
+        def b = project("b", b1, b2)
+        def root = project("root", a, b)
+        root.subprojects >> ([a, a1, b, b1, b2] as LinkedHashSet<Project>)
+        return root
+    }
+
+    private ProjectInternal project(String name, ProjectInternal... children) {
+        def state = Stub(ProjectState)
+        state.displayName >> Describables.of("project ':$name'")
+        state.childProjects >> (children*.owner as LinkedHashSet<ProjectState>)
+        state.ensureConfigured() >> {
+            configured << name
+            if (failures[name]) {
+                throw failures[name]
+            }
+        }
+        def project = Stub(ProjectInternal)
+        project.owner >> state
+        return project
+    }
+}
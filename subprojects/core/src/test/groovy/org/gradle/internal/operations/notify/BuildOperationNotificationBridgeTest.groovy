@@ -28,10 +28,12 @@ import org.gradle.internal.operations.OperationStartEvent
 import org.gradle.internal.service.scopes.Scopes
 import spock.lang.Specification
 
+import java.util.concurrent.Executor
+
 class BuildOperationNotificationBridgeTest extends Specification {
 
     def listenerManager = new DefaultListenerManager(Scopes.BuildSession)
-    def buildOperationListenerManager = new DefaultBuildOperationListenerManager()
+    def buildOperationListenerManager = new DefaultBuildOperationListenerManager(Stub(Executor))
     def broadcast = buildOperationListenerManager.broadcaster
     def listener = Mock(BuildOperationNotificationListener)
 
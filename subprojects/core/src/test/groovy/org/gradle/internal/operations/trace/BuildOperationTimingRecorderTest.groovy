@@ -0,0 +1,139 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.operations.trace
+
+import org.gradle.StartParameter
+import org.gradle.internal.operations.BuildOperationDescriptor
+import org.gradle.internal.operations.DefaultBuildOperationListenerManager
+import org.gradle.internal.operations.OperationFinishEvent
+import org.gradle.internal.operations.OperationIdentifier
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.junit.Rule
+import spock.lang.Specification
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executor
+
+class BuildOperationTimingRecorderTest extends Specification {
+    @Rule
+    TestNameTestDirectoryProvider tmpDir = new TestNameTestDirectoryProvider(getClass())
+
+    def listenerManager = new DefaultBuildOperationListenerManager(Stub(Executor))
+
+    def "does nothing when not enabled"() {
+        when:
+        def recorder = new BuildOperationTimingRecorder(new StartParameter(), listenerManager)
+        finish(operation(1, null, "root"), 1, 2)
+        recorder.stop()
+
+        then:
+        !BuildOperationTimingRecorder.file("operations").exists()
+    }
+
+    def "records finished operations from multiple threads"() {
+        def basePath = tmpDir.file("build/ops").absolutePath
+        def startParameter = new StartParameter()
+        startParameter.systemPropertiesArgs = [(BuildOperationTimingRecorder.SYSPROP): basePath]
+
+        when:
+        def recorder = new BuildOperationTimingRecorder(startParameter, listenerManager)
+        def child = operation(2, 1, new Details())
+        def worker = new Thread({ finish(child, 12, 15, new RuntimeException()) }, "worker")
+        worker.start()
+        worker.join()
+        finish(operation(1, null, "root"), 10, 20)
+        recorder.stop()
+        def timings = BuildOperationTimings.read(BuildOperationTimingRecorder.file(basePath))
+
+        then:
+        timings.size() == 2
+        def records = (0..<timings.size()).collectEntries { i ->
+            [(timings.getId(i)): [timings.getParentId(i), timings.getDetailsType(i), timings.getThreadName(i), timings.getStartTime(i), timings.getEndTime(i), timings.isFailed(i)]]
+        }
+        records[1L] == [null, String.name, Thread.currentThread().name, 10L, 20L, false]
+        records[2L] == [1L, Details.name, "worker", 12L, 15L, true]
+
+        when:
+        def trace = new StringBuilder()
+        timings.writeChromeTrace(trace)
+
+        then:
+        trace.toString().contains('"name":"BuildOperationTimingRecorderTest$Details","ph":"X","pid":0,"tid":')
+        trace.toString().contains('"ts":12000,"dur":3000,"args":{"id":2,"parentId":1,"detailsType":"org.gradle.internal.operations.trace.BuildOperationTimingRecorderTest$Details","failed":true}')
+        trace.toString().contains('"args":{"name":"worker"}')
+    }
+
+    def "writes a consistent file while operations are still being recorded"() {
+        def basePath = tmpDir.file("build/ops").absolutePath
+        def startParameter = new StartParameter()
+        startParameter.systemPropertiesArgs = [(BuildOperationTimingRecorder.SYSPROP): basePath]
+        def recorder = new BuildOperationTimingRecorder(startParameter, listenerManager)
+        def firstBatchRecorded = new CountDownLatch(1)
+        def writeStarted = new CountDownLatch(1)
+        def secondBatchRecorded = new CountDownLatch(1)
+        def worker = new Thread({
+            (1..3).each { finish(operation(it, null, "first"), it, it + 1) }
+            firstBatchRecorded.countDown()
+            writeStarted.await()
+            // Enough operations to replace the columns of the buffer
+            (4..600).each { finish(operation(it, null, new Details()), it, it + 1) }
+            secondBatchRecorded.countDown()
+        }, "worker")
+        def file = tmpDir.file("during-write.bin")
+
+        when:
+        worker.start()
+        firstBatchRecorded.await()
+        file.withOutputStream { fileOutput ->
+            def output = new DataOutputStream(new FilterOutputStream(fileOutput) {
+                @Override
+                void write(int b) throws IOException {
+                    if (writeStarted.count > 0) {
+                        writeStarted.countDown()
+                        secondBatchRecorded.await()
+                    }
+                    super.write(b)
+                }
+            })
+            recorder.write(output)
+            output.flush()
+        }
+        worker.join()
+        def timings = BuildOperationTimings.read(file)
+
+        then:
+        timings.size() == 3
+        (0..<3).collect { timings.getId(it) } == [1L, 2L, 3L]
+        (0..<3).collect { timings.getDetailsType(it) } == [String.name] * 3
+        (0..<3).collect { timings.getThreadName(it) } == ["worker"] * 3
+        (0..<3).collect { timings.getEndTime(it) } == [2L, 3L, 4L]
+
+        cleanup:
+        recorder?.stop()
+    }
+
+    private static BuildOperationDescriptor operation(long id, Long parentId, Object details) {
+        BuildOperationDescriptor.displayName("operation $id").details(details).build(new OperationIdentifier(id), parentId == null ? null : new OperationIdentifier(parentId))
+    }
+
+    private void finish(BuildOperationDescriptor operation, long startTime, long endTime, Throwable failure = null) {
+        listenerManager.broadcaster.finished(operation, new OperationFinishEvent(startTime, endTime, failure, null))
+    }
+
+    static class Details {
+    }
+}
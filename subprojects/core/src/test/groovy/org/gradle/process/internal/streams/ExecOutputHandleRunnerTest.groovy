@@ -39,6 +39,24 @@ class ExecOutputHandleRunnerTest extends Specification {
         completed.count == 0
     }
 
+    def "flushes output only when no more input is available"() {
+        def input = new ByteArrayInputStream("hello world".bytes)
+        def output = Mock(OutputStream)
+        def runner = new ExecOutputHandleRunner("test", input, output, 4, new CountDownLatch(1))
+
+        when:
+        runner.run()
+
+        then:
+        3 * output.write(_, 0, _)
+        then:
+        1 * output.flush()
+        then:
+        1 * output.flush()
+        1 * output.close()
+        0 * output._
+    }
+
     @Issue("GRADLE-3329")
     def "Handles exec output with line containing multi-byte unicode character at buffer boundary"() {
         given:
@@ -49,7 +67,13 @@ class ExecOutputHandleRunnerTest extends Specification {
         def action = Mock(TextStream)
         def lineSeparator = SystemProperties.instance.lineSeparator
         def output = new LineBufferingOutputStream(action, lineSeparator)
-        def input = new ByteArrayInputStream(text.getBytes("utf-8"))
+        def input = new ByteArrayInputStream(text.getBytes("utf-8")) {
+            @Override
+            int available() {
+                // Simulate a process that writes its output slowly, so each chunk is flushed
+                return 0
+            }
+        }
         def runner = new ExecOutputHandleRunner("test", input, output, bufferLength, new CountDownLatch(1))
 
         when: